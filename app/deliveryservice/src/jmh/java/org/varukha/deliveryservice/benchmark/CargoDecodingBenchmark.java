@@ -0,0 +1,124 @@
+package org.varukha.deliveryservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.service.io.impl.JsonReaderServiceImpl;
+
+/**
+ * Compares the cargo decoders of the import path on the json_data_set files.
+ * One operation is one decoded record, so the throughput is reported in records
+ * per second and, with the GC profiler, gc.alloc.rate.norm is bytes per record.
+ * The entity decoders bind every record to a Cargo with a nested Vehicle, as the
+ * import did before; the record decoder is the current import reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CargoDecodingBenchmark.DATA_SET_RECORDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CargoDecodingBenchmark {
+    static final int DATA_SET_RECORDS = 1000;
+    private static final int CHUNK_SIZE = 500;
+
+    @Param("src/main/resources/json_data_set")
+    protected String dataSetPath;
+
+    private List<byte[]> files;
+    private ObjectMapper entityMapper;
+    private ObjectMapper blackbirdEntityMapper;
+    private JsonReaderServiceImpl recordReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (Stream<Path> paths = Files.list(Path.of(dataSetPath))) {
+            files = new ArrayList<>();
+            for (Path path : paths.sorted().toList()) {
+                files.add(Files.readAllBytes(path));
+            }
+        }
+        entityMapper = new ObjectMapper();
+        blackbirdEntityMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+        recordReader = new JsonReaderServiceImpl(new ObjectMapper());
+        AtomicInteger records = new AtomicInteger();
+        for (byte[] file : files) {
+            recordReader.readJsonFile(new ByteArrayInputStream(file), "data set",
+                    CHUNK_SIZE, chunk -> records.addAndGet(chunk.size()));
+        }
+        if (records.get() != DATA_SET_RECORDS) {
+            throw new IllegalStateException("Expected " + DATA_SET_RECORDS
+                    + " records in " + dataSetPath + " but found " + records.get()
+                    + ", regenerate it with JsonDataGenerator");
+        }
+    }
+
+    @Benchmark
+    public void entityDecoder(Blackhole blackhole) throws IOException {
+        for (byte[] file : files) {
+            decodeEntities(entityMapper, file, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void entityDecoderBlackbird(Blackhole blackhole) throws IOException {
+        for (byte[] file : files) {
+            decodeEntities(blackbirdEntityMapper, file, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void recordDecoder(Blackhole blackhole) {
+        for (byte[] file : files) {
+            recordReader.readJsonFile(new ByteArrayInputStream(file), "data set",
+                    CHUNK_SIZE, blackhole::consume);
+        }
+    }
+
+    /**
+     * Decodes a file the way the import did before the record decoder,
+     * binding every object to the Cargo entity.
+     */
+    private void decodeEntities(ObjectMapper mapper, byte[] file, Blackhole blackhole)
+            throws IOException {
+        List<Cargo> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (JsonParser parser = mapper.getFactory()
+                .createParser(new ByteArrayInputStream(file))) {
+            while (parser.nextToken() != null) {
+                if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                    chunk.add(mapper.readValue(parser, Cargo.class));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        blackhole.consume(chunk);
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+            }
+        }
+        blackhole.consume(chunk);
+    }
+}
@@ -0,0 +1,276 @@
+package org.varukha.deliveryservice.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the queries behind /cargos/_list for every filter combination, with the index
+ * set before and after the tuned cargo indexes of changelog 09.
+ * The benchmark works in its own cargo_benchmark schema of the configured database and
+ * fills it once with a generated data set of the configured number of cargos, which
+ * later runs reuse. Statuses are skewed the way delivered data is, with DELIVERED the
+ * bulk of the rows and IN_TRANSIT and OUT_FOR_DELIVERY a few percent each. Every trial
+ * then creates the index set under test and analyzes the tables.
+ * listPage and listCount are the content and count statements of a page, and cursorPage
+ * is the statement of a cursor page in the middle of the data, ordered by status and ID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CargoListQueryBenchmark {
+    private static final int PAGE_SIZE = 10;
+    private static final int VEHICLES = 1000;
+    private static final String SCHEMA = "cargo_benchmark";
+    private static final String[] CREATE_SCHEMA = {
+            "CREATE SCHEMA IF NOT EXISTS " + SCHEMA,
+            "SET search_path TO " + SCHEMA,
+            """
+            CREATE TABLE IF NOT EXISTS vehicle (
+                id BIGINT PRIMARY KEY,
+                type VARCHAR(255) NOT NULL,
+                number VARCHAR(255) NOT NULL UNIQUE,
+                route_from VARCHAR(255) NOT NULL,
+                route_to VARCHAR(255) NOT NULL
+            )""",
+            """
+            CREATE TABLE IF NOT EXISTS cargo (
+                id BIGINT PRIMARY KEY,
+                vehicle_id BIGINT NOT NULL REFERENCES vehicle (id),
+                description VARCHAR(255) NOT NULL,
+                weight DOUBLE PRECISION NOT NULL,
+                status VARCHAR(255) NOT NULL
+            )""",
+            "CREATE INDEX IF NOT EXISTS idx_vehicle_type ON vehicle (type)"
+    };
+    private static final String INSERT_VEHICLES = """
+            INSERT INTO vehicle (id, type, number, route_from, route_to)
+            SELECT g,
+                   (ARRAY['CAR', 'TRUCK', 'TRAIN', 'PLANE', 'SHIP', 'HELICOPTER', 'DRONE'])
+                       [1 + g %% 7],
+                   'BM' || g, 'Route ' || g %% 50, 'Route ' || (g + 1) %% 50
+            FROM generate_series(1, %d) g""";
+    private static final String INSERT_CARGOS = """
+            INSERT INTO cargo (id, vehicle_id, description, weight, status)
+            SELECT g, 1 + g %% %d, 'Benchmark cargo ' || g, (g %% 1000) / 10.0,
+                   CASE WHEN h < 70 THEN 'DELIVERED'
+                        WHEN h < 82 THEN 'PENDING'
+                        WHEN h < 89 THEN 'RETURNED'
+                        WHEN h < 92 THEN 'LOST'
+                        WHEN h < 97 THEN 'IN_TRANSIT'
+                        ELSE 'OUT_FOR_DELIVERY' END
+            FROM (SELECT g, (g * 7919) %% 100 AS h FROM generate_series(1, %d) g) s""";
+    private static final String[] DROP_INDEXES = {
+            "DROP INDEX IF EXISTS idx_cargo_status",
+            "DROP INDEX IF EXISTS idx_cargo_vehicle_id",
+            "DROP INDEX IF EXISTS idx_cargo_status_id",
+            "DROP INDEX IF EXISTS idx_cargo_in_transit_id",
+            "DROP INDEX IF EXISTS idx_cargo_out_for_delivery_id"
+    };
+    private static final String[] BASELINE_INDEXES = {
+            "CREATE INDEX idx_cargo_status ON cargo (status)"
+    };
+    /**
+     * The indexes of changelog 09, which must be kept in sync with it.
+     */
+    private static final String[] TUNED_INDEXES = {
+            "CREATE INDEX idx_cargo_vehicle_id ON cargo (vehicle_id)",
+            "CREATE INDEX idx_cargo_status_id ON cargo (status, id)",
+            "CREATE INDEX idx_cargo_in_transit_id ON cargo (id) WHERE status = 'IN_TRANSIT'",
+            "CREATE INDEX idx_cargo_out_for_delivery_id ON cargo (id)"
+                    + " WHERE status = 'OUT_FOR_DELIVERY'"
+    };
+
+    @Param("jdbc:postgresql://localhost:5432/delivery_service_db")
+    protected String jdbcUrl;
+
+    @Param("postgres")
+    protected String username;
+
+    @Param("root123")
+    protected String password;
+
+    @Param("10000000")
+    protected long cargos;
+
+    @Param({"BASELINE", "TUNED"})
+    protected IndexSet indexSet;
+
+    @Param({"NONE", "DELIVERED", "IN_TRANSIT", "OUT_FOR_DELIVERY", "TRUCK",
+            "DELIVERED_TRUCK", "IN_TRANSIT_TRUCK"})
+    protected Filter filter;
+
+    private Connection connection;
+    private PreparedStatement listPage;
+    private PreparedStatement listCount;
+    private PreparedStatement cursorPage;
+
+    /**
+     * The index sets compared by the benchmark.
+     */
+    public enum IndexSet {
+        BASELINE,
+        TUNED
+    }
+
+    /**
+     * The filter combinations of /cargos/_list compared by the benchmark.
+     */
+    public enum Filter {
+        NONE(List.of(), List.of()),
+        DELIVERED(List.of("DELIVERED"), List.of()),
+        IN_TRANSIT(List.of("IN_TRANSIT"), List.of()),
+        OUT_FOR_DELIVERY(List.of("OUT_FOR_DELIVERY"), List.of()),
+        TRUCK(List.of(), List.of("TRUCK")),
+        DELIVERED_TRUCK(List.of("DELIVERED"), List.of("TRUCK")),
+        IN_TRANSIT_TRUCK(List.of("IN_TRANSIT"), List.of("TRUCK"));
+
+        private final List<String> statuses;
+        private final List<String> types;
+
+        Filter(List<String> statuses, List<String> types) {
+            this.statuses = statuses;
+            this.types = types;
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, username, password);
+        connection.setAutoCommit(true);
+        execute(CREATE_SCHEMA);
+        if (count("SELECT count(*) FROM cargo") != cargos
+                || count("SELECT count(*) FROM vehicle") != VEHICLES) {
+            execute("TRUNCATE cargo, vehicle",
+                    INSERT_VEHICLES.formatted(VEHICLES),
+                    INSERT_CARGOS.formatted(VEHICLES, cargos));
+        }
+        execute(DROP_INDEXES);
+        execute(indexSet == IndexSet.TUNED ? TUNED_INDEXES : BASELINE_INDEXES);
+        execute("VACUUM ANALYZE cargo", "VACUUM ANALYZE vehicle");
+
+        String from = " FROM cargo c JOIN vehicle v ON v.id = c.vehicle_id" + where();
+        listPage = connection.prepareStatement("SELECT c.id, c.description, c.status,"
+                + " c.weight, v.id, v.number, v.route_from, v.route_to, v.type" + from
+                + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY");
+        int index = bindFilter(listPage);
+        listPage.setInt(index++, 0);
+        listPage.setInt(index, PAGE_SIZE);
+        listCount = connection.prepareStatement("SELECT count(c.id)"
+                + (filter.types.isEmpty() ? " FROM cargo c" + where() : from));
+        bindFilter(listCount);
+        cursorPage = connection.prepareStatement("SELECT c.id, c.description, c.status,"
+                + " c.weight, v.id, v.number, v.route_from, v.route_to, v.type" + from
+                + (filter.statuses.isEmpty() && filter.types.isEmpty() ? " WHERE " : " AND ")
+                + "(c.status > ? OR (c.status = ? AND c.id > ?))"
+                + " ORDER BY c.status, c.id FETCH FIRST ? ROWS ONLY");
+        index = bindFilter(cursorPage);
+        String cursorStatus = filter.statuses.isEmpty() ? "DELIVERED" : filter.statuses.get(0);
+        cursorPage.setString(index++, cursorStatus);
+        cursorPage.setString(index++, cursorStatus);
+        cursorPage.setLong(index++, cargos / 2);
+        cursorPage.setInt(index, PAGE_SIZE + 1);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void listPage(Blackhole blackhole) throws SQLException {
+        readAll(listPage, blackhole);
+    }
+
+    @Benchmark
+    public void listCount(Blackhole blackhole) throws SQLException {
+        readAll(listCount, blackhole);
+    }
+
+    @Benchmark
+    public void cursorPage(Blackhole blackhole) throws SQLException {
+        readAll(cursorPage, blackhole);
+    }
+
+    /**
+     * Builds the WHERE clause of the filter, with the status and type conditions
+     * of the specifications.
+     */
+    private String where() {
+        List<String> conditions = new ArrayList<>();
+        if (!filter.statuses.isEmpty()) {
+            conditions.add("c.status IN (" + placeholders(filter.statuses.size()) + ")");
+        }
+        if (!filter.types.isEmpty()) {
+            conditions.add("v.type IN (" + placeholders(filter.types.size()) + ")");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /**
+     * Binds the filter values in the order of the WHERE clause.
+     *
+     * @return the index of the next parameter
+     */
+    private int bindFilter(PreparedStatement statement) throws SQLException {
+        int index = 1;
+        for (String status : filter.statuses) {
+            statement.setString(index++, status);
+        }
+        for (String type : filter.types) {
+            statement.setString(index++, type);
+        }
+        return index;
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void readAll(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void execute(String... sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String command : sql) {
+                statement.execute(command);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.varukha.deliveryservice.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
+import org.varukha.deliveryservice.model.enums.VehicleType;
+import org.varukha.deliveryservice.util.report.ColumnWidthEstimator;
+
+/**
+ * Compares the ways of sizing the columns of the cargo report on sheets of growing size.
+ * Both benchmarks fill the eight report columns of an in-memory sheet; autoSizeColumns
+ * then measures every cell with font metrics, as the report did before, while
+ * estimatedWidths records every value while it is written and sets the widths once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ReportColumnWidthBenchmark {
+    private static final int COLUMN_COUNT = 8;
+
+    @Param({"1000", "10000", "50000"})
+    protected int rows;
+
+    private List<CargoReportRowDto> reportRows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        VehicleType[] vehicleTypes = VehicleType.values();
+        DeliveryStatus[] statuses = DeliveryStatus.values();
+        reportRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            reportRows.add(new CargoReportRowDto(
+                    (long) i + 1,
+                    vehicleTypes[random.nextInt(vehicleTypes.length)],
+                    "AB" + random.nextInt(100_000),
+                    "Route " + random.nextInt(100),
+                    "Route " + random.nextInt(100),
+                    "Cargo description " + "x".repeat(random.nextInt(40)),
+                    Math.round(random.nextDouble() * 10_000) / 10.0,
+                    statuses[random.nextInt(statuses.length)]));
+        }
+    }
+
+    @Benchmark
+    public Sheet autoSizeColumns() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            int rowIndex = 0;
+            for (CargoReportRowDto reportRow : reportRows) {
+                writeRow(sheet.createRow(rowIndex++), reportRow, null);
+            }
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                sheet.autoSizeColumn(column);
+            }
+            return sheet;
+        }
+    }
+
+    @Benchmark
+    public Sheet estimatedWidths() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            ColumnWidthEstimator columnWidths = new ColumnWidthEstimator(COLUMN_COUNT);
+            int rowIndex = 0;
+            for (CargoReportRowDto reportRow : reportRows) {
+                writeRow(sheet.createRow(rowIndex++), reportRow, columnWidths);
+            }
+            columnWidths.applyTo(sheet);
+            return sheet;
+        }
+    }
+
+    /**
+     * Writes a report row the way the report service does, recording the value widths
+     * if an estimator is given.
+     */
+    private void writeRow(Row row, CargoReportRowDto reportRow, ColumnWidthEstimator widths) {
+        String[] texts = {
+                null,
+                reportRow.vehicleType().getVehicleType(),
+                reportRow.vehicleNumber(),
+                reportRow.routeFrom(),
+                reportRow.routeTo(),
+                reportRow.description(),
+                null,
+                reportRow.status().name()};
+        row.createCell(0).setCellValue(reportRow.id());
+        row.createCell(6).setCellValue(reportRow.weight());
+        if (widths != null) {
+            widths.record(0, reportRow.id());
+            widths.record(6, reportRow.weight());
+        }
+        for (int column = 1; column < COLUMN_COUNT; column++) {
+            if (texts[column] != null) {
+                row.createCell(column).setCellValue(texts[column]);
+                if (widths != null) {
+                    widths.record(column, texts[column]);
+                }
+            }
+        }
+    }
+}
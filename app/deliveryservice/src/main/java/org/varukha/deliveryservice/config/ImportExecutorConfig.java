@@ -0,0 +1,54 @@
+package org.varukha.deliveryservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of the application-wide executors that run cargo import work.
+ * The pools are bounded, so concurrent uploads share a fixed number of threads
+ * instead of each request creating its own pool. File workers parse the uploaded
+ * files and hand the parsed chunks over to a separate pool of writer threads.
+ */
+@Configuration
+public class ImportExecutorConfig {
+    @Value("${cargo.import.worker-threads:#{T(java.lang.Runtime).getRuntime()"
+            + ".availableProcessors()}}")
+    private int workerThreads;
+
+    @Value("${cargo.import.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${cargo.import.writer-threads:4}")
+    private int writerThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor importTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cargo-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Executor persisting parsed chunks. It is kept apart from the file workers,
+     * which block while waiting for writers, so the two stages cannot starve each
+     * other. The queue is not bounded here because every file limits its own
+     * pending chunks.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importWriterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(writerThreads);
+        executor.setMaxPoolSize(writerThreads);
+        executor.setThreadNamePrefix("cargo-import-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,51 @@
+package org.varukha.deliveryservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.varukha.deliveryservice.service.io.ImportResourceGovernor;
+
+/**
+ * Configuration measuring the latency of interactive requests for the import governor.
+ * Cargo and vehicle endpoints are interactive, except for the bulk upload, the reports
+ * and the export.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class InteractiveLatencyConfig implements WebMvcConfigurer {
+    private static final String START_NANOS_ATTRIBUTE =
+            InteractiveLatencyConfig.class.getName() + ".startNanos";
+
+    private final ImportResourceGovernor importResourceGovernor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request,
+                                     HttpServletResponse response,
+                                     Object handler) {
+                request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        Object handler,
+                                        Exception ex) {
+                if (request.getAttribute(START_NANOS_ATTRIBUTE) instanceof Long startNanos) {
+                    importResourceGovernor.recordInteractiveLatency(
+                            System.nanoTime() - startNanos);
+                }
+            }
+        })
+                .addPathPatterns("/cargos/**", "/vehicles/**")
+                .excludePathPatterns("/cargos/file/upload", "/cargos/_report/**",
+                        "/cargos/_export");
+    }
+}
@@ -0,0 +1,70 @@
+package org.varukha.deliveryservice.config;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the executors producing cargo reports. Streaming report bodies run
+ * on a bounded pool of their own instead of the fallback asynchronous request executor,
+ * which would start a new thread for every report, and get a timeout long enough for
+ * large reports. Report jobs are generated in the background by a separate small pool,
+ * and the sheets of partitioned reports are written concurrently on a fork-join pool.
+ */
+@Configuration
+public class ReportExecutorConfig implements WebMvcConfigurer {
+    @Value("${cargo.report.streaming-threads:4}")
+    private int streamingThreads;
+
+    @Value("${cargo.report.streaming-queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${cargo.report.streaming-timeout:PT10M}")
+    private Duration streamingTimeout;
+
+    @Value("${cargo.report.job-threads:2}")
+    private int jobThreads;
+
+    @Value("${cargo.report.partition-parallelism:4}")
+    private int partitionParallelism;
+
+    @Bean
+    public ThreadPoolTaskExecutor reportStreamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamingThreads);
+        executor.setMaxPoolSize(streamingThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cargo-report-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor reportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobThreads);
+        executor.setMaxPoolSize(jobThreads);
+        executor.setThreadNamePrefix("cargo-report-job-");
+        return executor;
+    }
+
+    /**
+     * Pool fetching and rendering the sheets of partitioned reports. Every running
+     * partition holds a database connection, so the parallelism has to stay well
+     * below the size of the connection pool.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool reportPartitionPool() {
+        return new ForkJoinPool(partitionParallelism);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(reportStreamingExecutor());
+        configurer.setDefaultTimeout(streamingTimeout.toMillis());
+    }
+}
@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,19 +20,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.dto.cargo.CargoCursorPageResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoListResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoRequestDto;
 import org.varukha.deliveryservice.dto.cargo.CargoResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.model.enums.CountMode;
+import org.varukha.deliveryservice.model.enums.CursorOrder;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.service.CargoCsvExportService;
 import org.varukha.deliveryservice.service.CargoExcelReportService;
 import org.varukha.deliveryservice.service.CargoService;
 import org.varukha.deliveryservice.service.io.JsonDataProcessingService;
+import org.varukha.deliveryservice.util.http.AcceptEncoding;
 
 @Tag(name = "Cargo management",
         description = "Endpoints for managing cargos")
@@ -42,6 +51,7 @@ public class CargoController {
     private final CargoService cargoService;
     private final JsonDataProcessingService dataProcessingService;
     private final CargoExcelReportService excelReportService;
+    private final CargoCsvExportService csvExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -82,28 +92,48 @@ public class CargoController {
     @GetMapping("/_list")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Get cargos by searching parameters",
-            description = "Search cargos by input parameters")
+            description = "Search cargos by input parameters. The total pages are counted"
+                    + " exactly by default; count=CACHED reuses a recent count of the same"
+                    + " filter, count=ESTIMATED uses the planner statistics and count=NONE"
+                    + " only tells whether another page follows.")
     public CargoListResponseDto getCargoList(@RequestParam(defaultValue = "1") int page,
                                              @RequestParam(defaultValue = "10") int size,
+                                             @RequestParam(defaultValue = "EXACT")
+                                             CountMode count,
                                              CargoSearchRequestDto searchParametersDto) {
         Pageable pageable = PageRequest.of(page - 1, size);
-        return cargoService.getPaginatedFilteredList(pageable, searchParametersDto);
+        return cargoService.getPaginatedFilteredList(pageable, searchParametersDto, count);
+    }
+
+    @GetMapping("/_list/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get cargos by searching parameters with a cursor",
+            description = "Search cargos by input parameters one page at a time, ordered by"
+                    + " ID or by status and ID. Pass the nextCursor of a page to get the"
+                    + " next one; deep pages cost the same as the first and no total"
+                    + " count is computed.")
+    public CargoCursorPageResponseDto getCargoCursorPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") CursorOrder order,
+            CargoSearchRequestDto searchParametersDto) {
+        return cargoService.getCursorPage(searchParametersDto, order, cursor, size);
     }
 
     @PostMapping("/file/upload")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Upload JSON files",
-            description = "Uploads JSON files and processes them.")
+            description = "Uploads JSON files and processes them. Use mode=COPY to bulk load"
+                    + " large feeds through PostgreSQL COPY.")
     public ResponseEntity<DataProcessingResponseDto> uploadJsonFile(
-            @RequestParam("file") @NotEmpty List<MultipartFile> files) {
-        DataProcessingResponseDto responseDto = dataProcessingService.uploadFromJson(files);
-        if (responseDto.successfulImports() > 0) {
+            @RequestParam("file") @NotEmpty List<MultipartFile> files,
+            @RequestParam(defaultValue = "BATCH") ImportMode mode) {
+        DataProcessingResponseDto responseDto = dataProcessingService.uploadFromJson(files, mode);
+        if (responseDto.successfulImports() + responseDto.updatedImports()
+                + responseDto.skippedImports() > 0) {
             return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(new DataProcessingResponseDto(
-                            responseDto.successfulImports(),
-                            responseDto.failedImports())
-                    );
+                    .body(responseDto);
         } else {
             return ResponseEntity
                     .status(HttpStatus.EXPECTATION_FAILED)
@@ -118,4 +148,31 @@ public class CargoController {
     public ResponseEntity<Resource> generateExcelReport(CargoSearchRequestDto searchParameters) {
         return excelReportService.generateExcelReport(searchParameters);
     }
+
+    @GetMapping("/_report/stream")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Stream cargos as Excel file by searching parameters",
+            description = "Search cargos by input parameters and stream them as an Excel file "
+                    + "built with constant memory, for reports too large to build at once."
+                    + " With partitioned=true, every vehicle type gets its own sheet, rendered"
+                    + " concurrently, after a summary sheet.")
+    public ResponseEntity<StreamingResponseBody> streamExcelReport(
+            CargoSearchRequestDto searchParameters,
+            @RequestParam(defaultValue = "false") boolean partitioned) {
+        return excelReportService.streamExcelReport(searchParameters, partitioned);
+    }
+
+    @GetMapping("/_export")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Stream cargos as CSV by searching parameters",
+            description = "Search cargos by input parameters and stream them as CSV rows"
+                    + " read from a database cursor. The body is gzip-encoded"
+                    + " when the client accepts gzip with a weight above 0.")
+    public ResponseEntity<StreamingResponseBody> streamCsvExport(
+            CargoSearchRequestDto searchParameters,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        return csvExportService.streamCsvExport(searchParameters,
+                AcceptEncoding.acceptsGzip(acceptEncoding));
+    }
 }
@@ -0,0 +1,95 @@
+package org.varukha.deliveryservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.dto.importjob.ServerImportRequestDto;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.service.io.ImportJobService;
+import org.varukha.deliveryservice.service.io.JsonDataProcessingService;
+
+@Tag(name = "Import job management",
+        description = "Endpoints for running cargo imports asynchronously")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/import-jobs")
+public class ImportJobController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final JsonDataProcessingService dataProcessingService;
+    private final ImportJobService importJobService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start an import job",
+            description = "Uploads JSON files and imports them in the background."
+                    + " With resume, files imported before continue after their last"
+                    + " committed chunk and completed files are skipped."
+                    + " Returns the job ID immediately.")
+    public ImportJobResponseDto startImport(
+            @RequestParam("file") @NotEmpty List<MultipartFile> files,
+            @RequestParam(defaultValue = "BATCH") ImportMode mode,
+            @RequestParam(defaultValue = "false") boolean resume) {
+        return dataProcessingService.startImport(files, mode, resume);
+    }
+
+    @PostMapping("/server-files")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start an import job for server-side files",
+            description = "Imports JSON files from a directory within the configured import"
+                    + " root of the server in the background. Returns the job ID immediately.")
+    public ImportJobResponseDto startServerImport(
+            @Valid @RequestBody ServerImportRequestDto requestDto) {
+        return dataProcessingService.startServerImport(
+                requestDto.directory(),
+                requestDto.glob(),
+                requestDto.mode() == null ? ImportMode.BATCH : requestDto.mode(),
+                Boolean.TRUE.equals(requestDto.resume()));
+    }
+
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get the import job by ID",
+            description = "Get the status, throughput and per-file progress of an import job")
+    public ImportJobResponseDto getById(@PathVariable String id) {
+        return importJobService.getById(id);
+    }
+
+    @GetMapping("/{id}/rejections")
+    @Operation(summary = "Download the rejection report of an import job",
+            description = "Streams the records rejected by an import job as NDJSON,"
+                    + " one line per record with its file, record index and reason")
+    public ResponseEntity<Resource> getRejectionReport(@PathVariable String id) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"import-" + id + "-rejections.ndjson\"")
+                .body(importJobService.getRejectionReport(id));
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get all import jobs",
+            description = "Get the progress of all running and recently finished import jobs")
+    public List<ImportJobResponseDto> getAll() {
+        return importJobService.getAll();
+    }
+}
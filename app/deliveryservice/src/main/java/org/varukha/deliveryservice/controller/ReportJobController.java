@@ -0,0 +1,55 @@
+package org.varukha.deliveryservice.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.dto.report.ReportJobResponseDto;
+import org.varukha.deliveryservice.service.ReportJobService;
+
+@Tag(name = "Report job management",
+        description = "Endpoints for generating cargo reports asynchronously")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/report-jobs")
+public class ReportJobController {
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start a report job",
+            description = "Generates an Excel report of the cargos matching the search"
+                    + " parameters in the background. Returns the job of an identical report"
+                    + " instead if one is running or stored for the current data.")
+    public ReportJobResponseDto startReport(CargoSearchRequestDto searchParameters) {
+        return reportJobService.startReport(searchParameters);
+    }
+
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get the report job by ID",
+            description = "Get the status, filter, data version and file size of a report job")
+    public ReportJobResponseDto getById(@PathVariable String id) {
+        return reportJobService.getById(id);
+    }
+
+    @GetMapping("/{id}/file")
+    @Operation(summary = "Download the report of a completed report job",
+            description = "Sends the stored Excel report. Supports byte range and"
+                    + " conditional requests.")
+    public void downloadReport(@PathVariable String id,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        reportJobService.sendReport(id, request, response);
+    }
+}
@@ -3,8 +3,21 @@ package org.varukha.deliveryservice.dto;
 /**
  * A data transfer object (DTO) representing the response of data processing operations.
  * Contains information about the number of successful imports and failed imports.
+ * Upsert imports also report the cargos updated in place and the records skipped
+ * as duplicates; successful imports are the inserted cargos.
  */
 public record DataProcessingResponseDto(
         Integer successfulImports,
-        Integer failedImports) {
+        Integer failedImports,
+        Integer updatedImports,
+        Integer skippedImports) {
+    /**
+     * Creates a response for an import that neither updates nor skips cargos.
+     *
+     * @param successfulImports the number of inserted cargos
+     * @param failedImports     the number of rejected cargos
+     */
+    public DataProcessingResponseDto(Integer successfulImports, Integer failedImports) {
+        this(successfulImports, failedImports, 0, 0);
+    }
 }
@@ -0,0 +1,13 @@
+package org.varukha.deliveryservice.dto.cargo;
+
+import java.util.List;
+
+/**
+ * A data transfer object (DTO) representing one page of cargo items read with a cursor.
+ * Contains the cargo search response DTOs of the page and the opaque token continuing
+ * after its last item, which is null when the page is the last one.
+ */
+public record CargoCursorPageResponseDto(
+        List<CargoSearchResponseDto> list,
+        String nextCursor) {
+}
@@ -5,10 +5,25 @@ import java.util.List;
 /**
  * A data transfer object (DTO) representing a response for a list of cargo items.
  * Contains a list of cargo search response DTOs, along with information about
- * the current page number and total pages.
+ * the current page number and total pages. The total pages are null when the listing
+ * was requested without a total, and approximate when they come from an estimate.
  */
 public record CargoListResponseDto(
         List<CargoSearchResponseDto> list,
         Integer currentPageNumber,
-        Integer totalPages) {
+        Integer totalPages,
+        Boolean hasNext,
+        Boolean approximate) {
+    /**
+     * Creates a response with an exact number of total pages.
+     *
+     * @param list              The cargos of the page
+     * @param currentPageNumber The number of the page, starting at 1
+     * @param totalPages        The exact number of pages
+     */
+    public CargoListResponseDto(List<CargoSearchResponseDto> list,
+                                Integer currentPageNumber,
+                                Integer totalPages) {
+        this(list, currentPageNumber, totalPages, currentPageNumber < totalPages, false);
+    }
 }
@@ -0,0 +1,20 @@
+package org.varukha.deliveryservice.dto.cargo;
+
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
+import org.varukha.deliveryservice.model.enums.VehicleType;
+
+/**
+ * A data transfer object (DTO) representing one row of a cargo report.
+ * Contains the cargo columns together with the columns of its vehicle,
+ * read by a single query without loading the cargo and vehicle entities.
+ */
+public record CargoReportRowDto(
+        Long id,
+        VehicleType vehicleType,
+        String vehicleNumber,
+        String routeFrom,
+        String routeTo,
+        String description,
+        Double weight,
+        DeliveryStatus status) {
+}
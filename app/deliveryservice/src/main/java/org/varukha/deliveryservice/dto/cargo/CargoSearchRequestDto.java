@@ -2,9 +2,17 @@ package org.varukha.deliveryservice.dto.cargo;
 
 /**
  * A data transfer object (DTO) representing a request for cargo search operations.
- * Contains arrays specifying the types and statuses of cargos to search for.
+ * Contains arrays specifying the types and statuses of cargos to search for,
+ * the weight range, the routes of the vehicles, a prefix of the vehicle number
+ * and a text the cargo description must contain, ignoring case.
  */
 public record CargoSearchRequestDto(
         String[] type,
-        String[] status) {
+        String[] status,
+        Double minWeight,
+        Double maxWeight,
+        String[] routeFrom,
+        String[] routeTo,
+        String vehicleNumber,
+        String description) {
 }
@@ -0,0 +1,24 @@
+package org.varukha.deliveryservice.dto.importjob;
+
+import java.time.Instant;
+
+/**
+ * A data transfer object (DTO) representing the progress of a single file of an import job.
+ * Contains the file status, import statistics, the number of bytes processed so far
+ * and the throughput of the file.
+ */
+public record ImportFileProgressDto(
+        String fileName,
+        String status,
+        Long successfulImports,
+        Long failedImports,
+        Long updatedImports,
+        Long skippedImports,
+        Long bytesProcessed,
+        Long totalBytes,
+        Instant startedAt,
+        Instant finishedAt,
+        Double recordsPerSecond,
+        Double bytesPerSecond,
+        String errorMessage) {
+}
@@ -0,0 +1,27 @@
+package org.varukha.deliveryservice.dto.importjob;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A data transfer object (DTO) representing the state of an import job.
+ * Contains the job status, totals, throughput, per-stage pipeline metrics
+ * and a per-file breakdown.
+ */
+public record ImportJobResponseDto(
+        String jobId,
+        String mode,
+        Boolean resume,
+        String status,
+        Instant startedAt,
+        Instant finishedAt,
+        Long successfulImports,
+        Long failedImports,
+        Long updatedImports,
+        Long skippedImports,
+        Long bytesProcessed,
+        Double recordsPerSecond,
+        ImportStageMetricsDto parseStage,
+        ImportStageMetricsDto writeStage,
+        List<ImportFileProgressDto> files) {
+}
@@ -0,0 +1,12 @@
+package org.varukha.deliveryservice.dto.importjob;
+
+/**
+ * A data transfer object (DTO) representing a cargo record rejected by an import job.
+ * Contains the file of the record, its zero-based index within the file and the reason
+ * it was rejected. One DTO is written per line of the NDJSON rejection report.
+ */
+public record ImportRejectionDto(
+        String fileName,
+        Long recordIndex,
+        String reason) {
+}
@@ -0,0 +1,12 @@
+package org.varukha.deliveryservice.dto.importjob;
+
+/**
+ * A data transfer object (DTO) representing the throughput of one import pipeline stage.
+ * Contains the processed records, the busy and waiting time and the records per busy second.
+ */
+public record ImportStageMetricsDto(
+        Long records,
+        Double busySeconds,
+        Double waitSeconds,
+        Double recordsPerSecond) {
+}
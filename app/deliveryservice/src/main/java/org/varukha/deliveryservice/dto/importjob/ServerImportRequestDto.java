@@ -0,0 +1,21 @@
+package org.varukha.deliveryservice.dto.importjob;
+
+import jakarta.validation.constraints.NotBlank;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+
+/**
+ * A data transfer object (DTO) representing a request to import files stored on the server.
+ * Contains the directory relative to the configured import root, an optional glob
+ * selecting the files within it, the optional import mode and whether files imported
+ * before resume from their checkpoints.
+ */
+public record ServerImportRequestDto(
+        @NotBlank(message = "Directory must not be blank")
+        String directory,
+
+        String glob,
+
+        ImportMode mode,
+
+        Boolean resume) {
+}
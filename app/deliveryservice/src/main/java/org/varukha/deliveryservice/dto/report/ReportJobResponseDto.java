@@ -0,0 +1,19 @@
+package org.varukha.deliveryservice.dto.report;
+
+import java.time.Instant;
+
+/**
+ * A data transfer object (DTO) representing the state of a report job.
+ * Contains the job status, the normalized filter and data version the report
+ * was built for, and the size of the finished report file.
+ */
+public record ReportJobResponseDto(
+        String jobId,
+        String status,
+        String filter,
+        Long dataVersion,
+        Instant createdAt,
+        Instant finishedAt,
+        Long sizeBytes,
+        String error) {
+}
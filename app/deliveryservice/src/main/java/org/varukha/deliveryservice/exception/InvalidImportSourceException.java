@@ -0,0 +1,11 @@
+package org.varukha.deliveryservice.exception;
+
+public class InvalidImportSourceException extends RuntimeException {
+    public InvalidImportSourceException(String message) {
+        super(message);
+    }
+
+    public InvalidImportSourceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package org.varukha.deliveryservice.exception;
+
+public class ReportNotReadyException extends RuntimeException {
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -31,6 +31,7 @@ public interface CargoMapper {
      * @return the corresponding Cargo entity.
      */
     @Mapping(target = "status", source = "status")
+    @Mapping(target = "naturalKey", ignore = true)
     Cargo toModel(CargoRequestDto requestDto);
 
     /**
@@ -0,0 +1,43 @@
+package org.varukha.deliveryservice.mapper;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.varukha.deliveryservice.config.MapperConfig;
+import org.varukha.deliveryservice.dto.importjob.ImportFileProgressDto;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+
+/**
+ * Mapper interface for mapping import job objects.
+ */
+@Mapper(config = MapperConfig.class)
+public interface ImportJobMapper {
+    /**
+     * Converts an ImportJob to an ImportJobResponseDto.
+     *
+     * @param job the ImportJob to convert.
+     * @return the corresponding ImportJobResponseDto.
+     */
+    @Mapping(target = "jobId", source = "id")
+    ImportJobResponseDto toDto(ImportJob job);
+
+    /**
+     * Converts an ImportFileProgress to an ImportFileProgressDto.
+     *
+     * @param progress the ImportFileProgress to convert.
+     * @return the corresponding ImportFileProgressDto.
+     */
+    ImportFileProgressDto toDto(ImportFileProgress progress);
+
+    /**
+     * Reads the current value of a progress counter.
+     *
+     * @param counter the counter to read.
+     * @return the current counter value.
+     */
+    default Long map(AtomicLong counter) {
+        return counter.get();
+    }
+}
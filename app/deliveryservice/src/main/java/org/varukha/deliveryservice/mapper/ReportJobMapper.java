@@ -0,0 +1,22 @@
+package org.varukha.deliveryservice.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.varukha.deliveryservice.config.MapperConfig;
+import org.varukha.deliveryservice.dto.report.ReportJobResponseDto;
+import org.varukha.deliveryservice.service.report.ReportJob;
+
+/**
+ * Mapper interface for mapping report job objects.
+ */
+@Mapper(config = MapperConfig.class)
+public interface ReportJobMapper {
+    /**
+     * Converts a ReportJob to a ReportJobResponseDto.
+     *
+     * @param job the ReportJob to convert.
+     * @return the corresponding ReportJobResponseDto.
+     */
+    @Mapping(target = "jobId", source = "id")
+    ReportJobResponseDto toDto(ReportJob job);
+}
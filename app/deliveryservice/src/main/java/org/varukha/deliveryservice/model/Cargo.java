@@ -10,7 +10,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.util.UUID;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -25,7 +27,9 @@ import org.varukha.deliveryservice.model.enums.DeliveryStatus;
 @Table(name = "cargo")
 public class Cargo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cargo_id_generator")
+    @SequenceGenerator(name = "cargo_id_generator", sequenceName = "cargo_id_seq",
+            allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,4 +46,11 @@ public class Cargo {
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private DeliveryStatus status;
+
+    /**
+     * The upsert key of the cargo. Only upsert imports write it, with their own statement,
+     * so JPA never inserts or updates it.
+     */
+    @Column(name = "natural_key", insertable = false, updatable = false)
+    private UUID naturalKey;
 }
@@ -0,0 +1,56 @@
+package org.varukha.deliveryservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+
+/**
+ * A class representing the durable checkpoint of an imported file.
+ * The file is identified by a fingerprint of its name, size and sampled content, so a file
+ * re-submitted for resumption finds the checkpoint of an earlier, interrupted import
+ * and resumes from it. A completed import also records the hash of the whole content,
+ * which confirms that a re-submitted file matching the fingerprint is the same file.
+ */
+@Entity
+@Data
+@RequiredArgsConstructor
+@Table(name = "import_checkpoint")
+public class ImportCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_key", nullable = false, unique = true)
+    private String sourceKey;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "successful_imports", nullable = false)
+    private Long successfulImports;
+
+    @Column(name = "failed_imports", nullable = false)
+    private Long failedImports;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "content_hash")
+    private String contentHash;
+}
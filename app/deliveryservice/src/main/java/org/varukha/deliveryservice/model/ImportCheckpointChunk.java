@@ -0,0 +1,31 @@
+package org.varukha.deliveryservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A class representing a chunk of an imported file whose cargos are committed.
+ * The row is inserted in the same transaction as the cargos of the chunk, and the
+ * unique chunk index per checkpoint prevents the same chunk from being saved twice.
+ */
+@Entity
+@Data
+@RequiredArgsConstructor
+@Table(name = "import_checkpoint_chunk")
+public class ImportCheckpointChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "checkpoint_id", nullable = false)
+    private Long checkpointId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+}
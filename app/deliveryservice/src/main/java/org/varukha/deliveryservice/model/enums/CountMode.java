@@ -0,0 +1,24 @@
+package org.varukha.deliveryservice.model.enums;
+
+/**
+ * Enumeration representing how the total of a cargo search listing is computed.
+ */
+public enum CountMode {
+    /**
+     * Counts the matching cargos on every request.
+     */
+    EXACT,
+    /**
+     * Counts the matching cargos and reuses the count for the same filter until it
+     * expires or the cargo data changes.
+     */
+    CACHED,
+    /**
+     * Estimates the number of matching cargos from the PostgreSQL planner statistics.
+     */
+    ESTIMATED,
+    /**
+     * Computes no total and only tells whether another page follows.
+     */
+    NONE
+}
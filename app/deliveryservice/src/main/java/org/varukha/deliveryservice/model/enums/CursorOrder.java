@@ -0,0 +1,15 @@
+package org.varukha.deliveryservice.model.enums;
+
+/**
+ * Enumeration representing the keys cargo search results can be paged on with a cursor.
+ */
+public enum CursorOrder {
+    /**
+     * Pages on the cargo ID.
+     */
+    ID,
+    /**
+     * Pages on the cargo status, then on the cargo ID within a status.
+     */
+    STATUS_ID
+}
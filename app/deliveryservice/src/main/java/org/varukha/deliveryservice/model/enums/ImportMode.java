@@ -0,0 +1,21 @@
+package org.varukha.deliveryservice.model.enums;
+
+/**
+ * Enumeration representing the strategies available for importing cargo data.
+ */
+public enum ImportMode {
+    /**
+     * Saves parsed cargos through JPA using JDBC insert batching.
+     */
+    BATCH,
+    /**
+     * Streams parsed cargos through PostgreSQL COPY into a staging table
+     * and merges them into the cargo table with a single set-based statement.
+     */
+    COPY,
+    /**
+     * Inserts parsed cargos or updates the cargos with the same natural key,
+     * skipping records the import already saw and cargos that did not change.
+     */
+    UPSERT
+}
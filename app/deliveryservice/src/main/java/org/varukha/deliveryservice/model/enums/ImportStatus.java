@@ -0,0 +1,11 @@
+package org.varukha.deliveryservice.model.enums;
+
+/**
+ * Enumeration representing the processing status of an import job or a single imported file.
+ */
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
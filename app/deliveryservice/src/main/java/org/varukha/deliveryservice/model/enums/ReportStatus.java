@@ -0,0 +1,11 @@
+package org.varukha.deliveryservice.model.enums;
+
+/**
+ * Enumeration representing the generation status of a report job.
+ */
+public enum ReportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package org.varukha.deliveryservice.repository;
+
+import java.util.List;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Repository fragment reading the query plans of cargo searches.
+ */
+public interface CargoPlanRepository {
+    /**
+     * Retrieves the PostgreSQL plan of the query reading the cargos matching the
+     * conditions, without running the query.
+     *
+     * @param conditions The native conditions of the search filters
+     * @return The query plan, as the JSON text of EXPLAIN (FORMAT JSON)
+     */
+    String explain(List<SqlCondition> conditions);
+}
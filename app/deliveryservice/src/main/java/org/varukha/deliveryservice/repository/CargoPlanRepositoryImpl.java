@@ -0,0 +1,51 @@
+package org.varukha.deliveryservice.repository;
+
+import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Implementation of the cargo plan repository fragment. The explained query is rendered
+ * once from the native conditions of the search filters, and runs on the connection of
+ * the current session, so explaining a search inside a transaction takes no other
+ * pooled connection.
+ */
+@RequiredArgsConstructor
+public class CargoPlanRepositoryImpl implements CargoPlanRepository {
+    private static final String EXPLAIN_CARGOS = "EXPLAIN (FORMAT JSON) SELECT 1 FROM cargo c";
+    private static final String VEHICLE_JOIN = " JOIN vehicle v ON v.id = c.vehicle_id";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public String explain(List<SqlCondition> conditions) {
+        StringBuilder sql = new StringBuilder(EXPLAIN_CARGOS);
+        if (conditions.stream().anyMatch(SqlCondition::joinsVehicle)) {
+            sql.append(VEHICLE_JOIN);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(conditions.stream()
+                    .map(SqlCondition::sql)
+                    .collect(Collectors.joining(" AND ", " WHERE ", "")));
+        }
+        List<Object> params = conditions.stream()
+                .flatMap(condition -> condition.params().stream())
+                .toList();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
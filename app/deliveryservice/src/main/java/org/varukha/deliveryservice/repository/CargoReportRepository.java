@@ -0,0 +1,21 @@
+package org.varukha.deliveryservice.repository;
+
+import java.util.stream.Stream;
+import org.springframework.data.jpa.domain.Specification;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
+import org.varukha.deliveryservice.model.Cargo;
+
+/**
+ * Repository fragment reading cargo report rows for bulk reads.
+ */
+public interface CargoReportRepository {
+    /**
+     * Streams the report rows of the cargos matching the specification, in ID order.
+     * The rows are read through a forward-only database cursor, so the stream must be
+     * consumed and closed within the transaction that opened it.
+     *
+     * @param specification The filter of the cargos
+     * @return A stream of report rows, which must be closed after use
+     */
+    Stream<CargoReportRowDto> streamReportRows(Specification<Cargo> specification);
+}
@@ -0,0 +1,60 @@
+package org.varukha.deliveryservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.Vehicle;
+import org.varukha.deliveryservice.repository.filter.CargoPredicates;
+
+/**
+ * Implementation of the cargo report repository fragment. Report rows are selected as
+ * a constructor projection that joins the vehicle columns, so no entities are loaded
+ * and no query is issued per vehicle. The JDBC driver fetches the rows in batches of
+ * the configured fetch size instead of reading the whole result at once.
+ */
+@RequiredArgsConstructor
+public class CargoReportRepositoryImpl implements CargoReportRepository {
+    private static final String ID_FIELD = "id";
+
+    private final EntityManager entityManager;
+
+    @Value("${cargo.report.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Stream<CargoReportRowDto> streamReportRows(Specification<Cargo> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CargoReportRowDto> query =
+                criteriaBuilder.createQuery(CargoReportRowDto.class);
+        Root<Cargo> cargo = query.from(Cargo.class);
+        Predicate predicate = specification.toPredicate(cargo, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Join<Cargo, Vehicle> vehicle = CargoPredicates.vehicleJoin(cargo);
+        query.select(criteriaBuilder.construct(CargoReportRowDto.class,
+                        cargo.get(ID_FIELD),
+                        vehicle.get("type"),
+                        vehicle.get("vehicleNumber"),
+                        vehicle.get("routeFrom"),
+                        vehicle.get("routeTo"),
+                        cargo.get("description"),
+                        cargo.get("weight"),
+                        cargo.get("status")))
+                .orderBy(criteriaBuilder.asc(cargo.get(ID_FIELD)));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
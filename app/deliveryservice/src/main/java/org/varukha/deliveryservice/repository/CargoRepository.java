@@ -1,6 +1,10 @@
 package org.varukha.deliveryservice.repository;
 
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,7 +14,8 @@ import org.varukha.deliveryservice.model.Cargo;
  * Repository interface for accessing Cargo entities in the database.
  */
 public interface CargoRepository extends JpaRepository<Cargo, Long>,
-        JpaSpecificationExecutor<Cargo> {
+        JpaSpecificationExecutor<Cargo>, CargoReportRepository, CargoSliceRepository,
+        CargoPlanRepository {
 
     /**
      * Retrieves a Cargo entity by its ID along with the associated Vehicle entity.
@@ -20,4 +25,25 @@ public interface CargoRepository extends JpaRepository<Cargo, Long>,
      */
     @Query("FROM Cargo c LEFT JOIN FETCH c.vehicle WHERE c.id = :id")
     Optional<Cargo> findByIdWithVehicle(Long id);
+
+    /**
+     * Retrieves a page of Cargo entities matching the specification, fetching the associated
+     * Vehicle entities in the same query. The count query of the page is not affected.
+     *
+     * @param spec     The specification the Cargo entities must match
+     * @param pageable The page to retrieve
+     * @return A page of Cargo entities with their Vehicle entities loaded
+     */
+    @Override
+    @EntityGraph(attributePaths = "vehicle")
+    Page<Cargo> findAll(Specification<Cargo> spec, Pageable pageable);
+
+    /**
+     * Retrieves the current version of the cargo data. The version grows with every
+     * statement changing a cargo or a vehicle, including rolled back ones.
+     *
+     * @return The current data version
+     */
+    @Query(value = "SELECT last_value FROM cargo_data_version_seq", nativeQuery = true)
+    long getDataVersion();
 }
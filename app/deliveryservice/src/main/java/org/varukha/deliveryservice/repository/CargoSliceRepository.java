@@ -0,0 +1,22 @@
+package org.varukha.deliveryservice.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.varukha.deliveryservice.model.Cargo;
+
+/**
+ * Repository fragment reading pages of cargos without counting the matching cargos.
+ */
+public interface CargoSliceRepository {
+    /**
+     * Retrieves a slice of the cargos matching the specification, fetching the associated
+     * Vehicle entities in the same query. One cargo more than the page size is read to
+     * tell whether another slice follows, instead of counting the matching cargos.
+     *
+     * @param specification The filter of the cargos
+     * @param pageable      The slice to retrieve
+     * @return A slice of Cargo entities with their Vehicle entities loaded
+     */
+    Slice<Cargo> findSlice(Specification<Cargo> specification, Pageable pageable);
+}
@@ -0,0 +1,51 @@
+package org.varukha.deliveryservice.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.varukha.deliveryservice.model.Cargo;
+
+/**
+ * Implementation of the cargo slice repository fragment. The slice is read with the
+ * same filter, sort and vehicle fetch graph as a page, without the count query.
+ */
+@RequiredArgsConstructor
+public class CargoSliceRepositoryImpl implements CargoSliceRepository {
+    private static final String VEHICLE_FIELD = "vehicle";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Cargo> findSlice(Specification<Cargo> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Cargo> query = criteriaBuilder.createQuery(Cargo.class);
+        Root<Cargo> cargo = query.from(Cargo.class);
+        Predicate predicate = specification.toPredicate(cargo, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cargo)
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), cargo, criteriaBuilder));
+        EntityGraph<Cargo> vehicleGraph = entityManager.createEntityGraph(Cargo.class);
+        vehicleGraph.addAttributeNodes(VEHICLE_FIELD);
+        List<Cargo> cargos = entityManager.createQuery(query)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, vehicleGraph)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = cargos.size() > pageable.getPageSize();
+        List<Cargo> content = hasNext ? cargos.subList(0, pageable.getPageSize()) : cargos;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
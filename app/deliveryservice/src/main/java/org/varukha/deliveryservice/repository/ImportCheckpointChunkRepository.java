@@ -0,0 +1,40 @@
+package org.varukha.deliveryservice.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.varukha.deliveryservice.model.ImportCheckpointChunk;
+
+/**
+ * Repository interface for accessing ImportCheckpointChunk entities in the database.
+ */
+public interface ImportCheckpointChunkRepository
+        extends JpaRepository<ImportCheckpointChunk, Long> {
+    /**
+     * Retrieves the indexes of the committed chunks of a checkpoint.
+     *
+     * @param checkpointId The ID of the checkpoint
+     * @return The committed chunk indexes
+     */
+    @Query("SELECT c.chunkIndex FROM ImportCheckpointChunk c WHERE c.checkpointId = :checkpointId")
+    List<Integer> findChunkIndexes(Long checkpointId);
+
+    /**
+     * Checks whether a chunk of a checkpoint is committed.
+     *
+     * @param checkpointId The ID of the checkpoint
+     * @param chunkIndex   The index of the chunk
+     * @return true if the chunk is committed
+     */
+    boolean existsByCheckpointIdAndChunkIndex(Long checkpointId, Integer chunkIndex);
+
+    /**
+     * Deletes the committed chunks of a checkpoint.
+     *
+     * @param checkpointId The ID of the checkpoint
+     */
+    @Modifying
+    @Query("DELETE FROM ImportCheckpointChunk c WHERE c.checkpointId = :checkpointId")
+    void deleteByCheckpointId(Long checkpointId);
+}
@@ -0,0 +1,65 @@
+package org.varukha.deliveryservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+
+/**
+ * Repository interface for accessing ImportCheckpoint entities in the database.
+ */
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, Long> {
+    /**
+     * Retrieves the checkpoint of a file by its fingerprint.
+     *
+     * @param sourceKey The fingerprint of the file
+     * @return An Optional containing the checkpoint, if the file was imported before
+     */
+    Optional<ImportCheckpoint> findBySourceKey(String sourceKey);
+
+    /**
+     * Adds the statistics of a committed chunk to a checkpoint.
+     *
+     * @param id         The ID of the checkpoint
+     * @param successful The number of cargos saved
+     * @param failed     The number of cargos rejected
+     * @param updatedAt  The time of the commit
+     * @return The number of updated checkpoints
+     */
+    @Modifying
+    @Query("UPDATE ImportCheckpoint c SET c.successfulImports = c.successfulImports + :successful,"
+            + " c.failedImports = c.failedImports + :failed, c.updatedAt = :updatedAt"
+            + " WHERE c.id = :id")
+    int addImports(Long id, long successful, long failed, LocalDateTime updatedAt);
+
+    /**
+     * Resets a checkpoint to an import starting from the beginning of the file, which
+     * has no content hash until it completes.
+     *
+     * @param id        The ID of the checkpoint
+     * @param chunkSize The chunk size of the new import
+     * @param status    The status of the new import
+     * @param updatedAt The time of the reset
+     * @return The number of updated checkpoints
+     */
+    @Modifying
+    @Query("UPDATE ImportCheckpoint c SET c.chunkSize = :chunkSize, c.successfulImports = 0,"
+            + " c.failedImports = 0, c.status = :status, c.updatedAt = :updatedAt,"
+            + " c.contentHash = NULL WHERE c.id = :id")
+    int restart(Long id, int chunkSize, ImportStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Deletes checkpoints that were not updated since the given time, with their chunks.
+     *
+     * @param updatedAt The time before which the checkpoints were last updated
+     * @return The number of deleted checkpoints
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImportCheckpoint c WHERE c.updatedAt < :updatedAt")
+    int deleteByUpdatedAtBefore(LocalDateTime updatedAt);
+}
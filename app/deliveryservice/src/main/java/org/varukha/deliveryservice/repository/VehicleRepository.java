@@ -20,6 +20,15 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     @Query("FROM Vehicle v LEFT JOIN FETCH v.cargos WHERE v.vehicleNumber = :number")
     Optional<Vehicle> findByVehicleNumber(String number);
 
+    /**
+     * Retrieves a Vehicle entity by its vehicle number without loading its cargos.
+     *
+     * @param number The vehicle number of the Vehicle entity to retrieve
+     * @return An Optional containing the Vehicle entity, if found
+     */
+    @Query("FROM Vehicle v WHERE v.vehicleNumber = :number")
+    Optional<Vehicle> findByVehicleNumberWithoutCargos(String number);
+
     /**
      * Retrieves all Vehicle entities along with their associated cargos, paginated.
      *
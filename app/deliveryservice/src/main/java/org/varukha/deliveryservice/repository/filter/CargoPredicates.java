@@ -0,0 +1,65 @@
+package org.varukha.deliveryservice.repository.filter;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import java.util.Locale;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.Vehicle;
+
+/**
+ * Utility class shared by the cargo specifications and queries.
+ */
+public final class CargoPredicates {
+    /**
+     * The escape character of the LIKE patterns built by this class.
+     */
+    public static final char LIKE_ESCAPE = '\\';
+    private static final String VEHICLE_FIELD = "vehicle";
+
+    private CargoPredicates() {
+    }
+
+    /**
+     * Returns the join of the vehicle, reusing the one added by another filter if there is
+     * one, so that filters on several vehicle columns join the vehicle table only once.
+     *
+     * @param cargo The cargo root of the query
+     * @return The vehicle join
+     */
+    @SuppressWarnings("unchecked")
+    public static Join<Cargo, Vehicle> vehicleJoin(Root<Cargo> cargo) {
+        return cargo.getJoins().stream()
+                .filter(join -> VEHICLE_FIELD.equals(join.getAttribute().getName()))
+                .map(join -> (Join<Cargo, Vehicle>) join)
+                .findFirst()
+                .orElseGet(() -> cargo.join(VEHICLE_FIELD, JoinType.INNER));
+    }
+
+    /**
+     * Builds the LIKE pattern matching values that start with the given text.
+     *
+     * @param prefix The text the values start with
+     * @return The pattern, using {@link #LIKE_ESCAPE} as escape character
+     */
+    public static String prefixPattern(String prefix) {
+        return escape(prefix) + "%";
+    }
+
+    /**
+     * Builds the LIKE pattern matching lower-cased values that contain the given text,
+     * ignoring its case.
+     *
+     * @param text The text the values contain
+     * @return The lower-cased pattern, using {@link #LIKE_ESCAPE} as escape character
+     */
+    public static String containsIgnoreCasePattern(String text) {
+        return "%" + escape(text.toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
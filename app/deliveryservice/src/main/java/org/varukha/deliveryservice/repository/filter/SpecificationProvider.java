@@ -6,7 +6,8 @@ import org.varukha.deliveryservice.model.Cargo;
 /**
  * Interface for providing specifications based on specific parameters.
  * This interface defines methods for retrieving the key associated with
- * the provider and for generating specifications based on provided parameters.
+ * the provider and for generating specifications, and the matching native SQL
+ * conditions, based on provided parameters.
  *
  * @param <T> The type of entity for which specifications are provided
  */
@@ -25,4 +26,12 @@ public interface SpecificationProvider<T> {
      * @return The generated specification
      */
     Specification<Cargo> getSpecification(String[] params);
+
+    /**
+     * Generates the native SQL condition matching the specification of the same parameters.
+     *
+     * @param params The parameters used to generate the condition
+     * @return The generated condition
+     */
+    SqlCondition getSqlCondition(String[] params);
 }
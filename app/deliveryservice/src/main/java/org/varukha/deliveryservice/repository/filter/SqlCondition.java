@@ -0,0 +1,58 @@
+package org.varukha.deliveryservice.repository.filter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A native SQL condition on the cargo table, aliased c, and the vehicle table, aliased v,
+ * with the values of its JDBC parameters. Native queries, such as the plan of the count
+ * estimate, filter cargos with the conditions matching the search specifications.
+ *
+ * @param sql          The condition, with a ? placeholder per parameter
+ * @param params       The values of the parameters, in order
+ * @param joinsVehicle Whether the condition reads vehicle columns
+ */
+public record SqlCondition(String sql, List<Object> params, boolean joinsVehicle) {
+    /**
+     * Creates a condition on a column of the cargo table.
+     *
+     * @param sql    The condition, reading columns through the alias c
+     * @param params The values of the parameters, in order
+     * @return The condition
+     */
+    public static SqlCondition onCargo(String sql, Object... params) {
+        return new SqlCondition(sql, List.of(params), false);
+    }
+
+    /**
+     * Creates a condition on a column of the vehicle table.
+     *
+     * @param sql    The condition, reading columns through the alias v
+     * @param params The values of the parameters, in order
+     * @return The condition
+     */
+    public static SqlCondition onVehicle(String sql, Object... params) {
+        return new SqlCondition(sql, List.of(params), true);
+    }
+
+    /**
+     * Builds the placeholders of an IN list.
+     *
+     * @param count The number of values in the list
+     * @return The placeholders, in parentheses
+     */
+    public static String inList(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    /**
+     * Builds a LIKE comparison with a single pattern parameter, escaped as the patterns
+     * of {@link CargoPredicates}.
+     *
+     * @param expression The compared expression
+     * @return The comparison
+     */
+    public static String like(String expression) {
+        return expression + " LIKE ? ESCAPE '" + CargoPredicates.LIKE_ESCAPE + "'";
+    }
+}
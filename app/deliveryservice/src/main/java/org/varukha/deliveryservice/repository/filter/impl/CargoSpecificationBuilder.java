@@ -1,5 +1,8 @@
 package org.varukha.deliveryservice.repository.filter.impl;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -7,17 +10,26 @@ import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
 import org.varukha.deliveryservice.model.Cargo;
 import org.varukha.deliveryservice.repository.filter.SpecificationBuilder;
 import org.varukha.deliveryservice.repository.filter.SpecificationProviderManager;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
 
 /**
  * Builds specifications based on search parameters for cargo entities.
  * This component provides methods to generate specifications for cargo entities
- * based on various search parameters such as weight and status.
+ * based on various search parameters such as status, vehicle type, weight range,
+ * vehicle route, vehicle number prefix and description text.
  */
 @RequiredArgsConstructor
 @Component
 public class CargoSpecificationBuilder implements SpecificationBuilder<Cargo> {
     public static final String CARGO_STATUS = "status";
     public static final String VEHICLE_TYPE_KEY = "type";
+    public static final String CARGO_WEIGHT = "weight";
+    public static final String MIN_WEIGHT_KEY = "minWeight";
+    public static final String MAX_WEIGHT_KEY = "maxWeight";
+    public static final String ROUTE_FROM_KEY = "routeFrom";
+    public static final String ROUTE_TO_KEY = "routeTo";
+    public static final String VEHICLE_NUMBER_KEY = "vehicleNumber";
+    public static final String DESCRIPTION_KEY = "description";
 
     private final SpecificationProviderManager<Cargo> specificationProviderManager;
 
@@ -30,26 +42,70 @@ public class CargoSpecificationBuilder implements SpecificationBuilder<Cargo> {
     @Override
     public Specification<Cargo> build(CargoSearchRequestDto searchParametersDto) {
         Specification<Cargo> spec = Specification.where(null);
-        spec = getCargoSpecification(searchParametersDto.status(), spec, CARGO_STATUS);
-        spec = getCargoSpecification(searchParametersDto.type(), spec, VEHICLE_TYPE_KEY);
+        for (Map.Entry<String, String[]> filter : getFilters(searchParametersDto).entrySet()) {
+            spec = spec.and(specificationProviderManager.getSpecificationProvider(filter.getKey())
+                    .getSpecification(filter.getValue()));
+        }
         return spec;
     }
 
     /**
-     * Retrieves a cargo specification based on the provided parameters.
+     * Builds the native SQL conditions matching the specification of the provided search
+     * parameters.
+     *
+     * @param searchParametersDto The search parameters for cargo entities
+     * @return The generated conditions, all of which a cargo must match
+     */
+    public List<SqlCondition> buildSqlConditions(CargoSearchRequestDto searchParametersDto) {
+        return getFilters(searchParametersDto).entrySet().stream()
+                .map(filter -> specificationProviderManager
+                        .getSpecificationProvider(filter.getKey())
+                        .getSqlCondition(filter.getValue()))
+                .toList();
+    }
+
+    /**
+     * Collects the parameters of the filters set in the search parameters, by filter key.
      *
      * @param searchParametersDto The search parameters for cargo entities
-     * @param spec The existing specification to be updated
-     * @param key The key representing the type of specification
-     * @return The updated specification
+     * @return The parameters of every set filter, in a stable order
      */
-    private Specification<Cargo> getCargoSpecification(String[] searchParametersDto,
-                                                     Specification<Cargo> spec,
-                                                     String key) {
-        if (searchParametersDto != null && searchParametersDto.length > 0) {
-            spec = spec.and(specificationProviderManager.getSpecificationProvider(key)
-                    .getSpecification(searchParametersDto));
+    private Map<String, String[]> getFilters(CargoSearchRequestDto searchParametersDto) {
+        Map<String, String[]> filters = new LinkedHashMap<>();
+        addFilter(filters, CARGO_STATUS, searchParametersDto.status());
+        addFilter(filters, VEHICLE_TYPE_KEY, searchParametersDto.type());
+        addFilter(filters, MIN_WEIGHT_KEY, toParams(searchParametersDto.minWeight()));
+        addFilter(filters, MAX_WEIGHT_KEY, toParams(searchParametersDto.maxWeight()));
+        addFilter(filters, ROUTE_FROM_KEY, searchParametersDto.routeFrom());
+        addFilter(filters, ROUTE_TO_KEY, searchParametersDto.routeTo());
+        addFilter(filters, VEHICLE_NUMBER_KEY, toParams(searchParametersDto.vehicleNumber()));
+        addFilter(filters, DESCRIPTION_KEY, toParams(searchParametersDto.description()));
+        return filters;
+    }
+
+    /**
+     * Converts a single-valued search parameter to the parameters of a specification.
+     *
+     * @param value The value of the search parameter, may be null or blank
+     * @return The parameters, or null if the search parameter is not set
+     */
+    private String[] toParams(Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        return new String[]{value.toString()};
+    }
+
+    /**
+     * Adds the parameters of a filter, if it is set.
+     *
+     * @param filters The parameters of the filters, by filter key
+     * @param key     The key representing the type of specification
+     * @param params  The parameters of the filter, may be null or empty
+     */
+    private void addFilter(Map<String, String[]> filters, String key, String[] params) {
+        if (params != null && params.length > 0) {
+            filters.put(key, params);
         }
-        return spec;
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.varukha.deliveryservice.model.Cargo;
 import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
 
 /**
  * Provides specifications for filtering cargo entities based on delivery status.
@@ -33,4 +34,16 @@ public class CargoStatusSpecificationProvider implements SpecificationProvider<C
         return (root, query, criteriaBuilder) -> root.get(CARGO_STATUS)
                 .in(Arrays.stream(params).toArray());
     }
+
+    /**
+     * Generates the SQL condition filtering cargos based on delivery status.
+     *
+     * @param params The delivery statuses to filter by
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onCargo("c.status IN " + SqlCondition.inList(params.length),
+                (Object[]) params);
+    }
 }
@@ -0,0 +1,54 @@
+package org.varukha.deliveryservice.repository.filter.spec;
+
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.DESCRIPTION_KEY;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.repository.filter.CargoPredicates;
+import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Provides specifications for filtering cargo entities based on a text in the description,
+ * ignoring case.
+ */
+@Component
+public class DescriptionSpecificationProvider implements SpecificationProvider<Cargo> {
+    /**
+     * Retrieves the key associated with this specification provider.
+     *
+     * @return The key of the specification provider
+     */
+    @Override
+    public String getKey() {
+        return DESCRIPTION_KEY;
+    }
+
+    /**
+     * Generates a specification to filter cargo entities based on a text in the description,
+     * ignoring case.
+     *
+     * @param params The text the description contains
+     * @return The generated specification
+     */
+    public Specification<Cargo> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+                criteriaBuilder.lower(root.get(DESCRIPTION_KEY)),
+                CargoPredicates.containsIgnoreCasePattern(params[0]),
+                CargoPredicates.LIKE_ESCAPE);
+    }
+
+    /**
+     * Generates the SQL condition filtering cargos based on a text in the description,
+     * ignoring case.
+     *
+     * @param params The text the description contains
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onCargo(SqlCondition.like("lower(c.description)"),
+                CargoPredicates.containsIgnoreCasePattern(params[0]));
+    }
+}
@@ -0,0 +1,48 @@
+package org.varukha.deliveryservice.repository.filter.spec;
+
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.CARGO_WEIGHT;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.MAX_WEIGHT_KEY;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Provides specifications for filtering cargo entities based on the maximum weight.
+ */
+@Component
+public class MaxWeightSpecificationProvider implements SpecificationProvider<Cargo> {
+    /**
+     * Retrieves the key associated with this specification provider.
+     *
+     * @return The key of the specification provider
+     */
+    @Override
+    public String getKey() {
+        return MAX_WEIGHT_KEY;
+    }
+
+    /**
+     * Generates a specification to filter cargo entities based on the maximum weight.
+     *
+     * @param params The maximum weight, inclusive
+     * @return The generated specification
+     */
+    public Specification<Cargo> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(
+                root.<Double>get(CARGO_WEIGHT), Double.valueOf(params[0]));
+    }
+
+    /**
+     * Generates the SQL condition filtering cargos based on the maximum weight.
+     *
+     * @param params The maximum weight, inclusive
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onCargo("c.weight <= ?", Double.valueOf(params[0]));
+    }
+}
@@ -0,0 +1,48 @@
+package org.varukha.deliveryservice.repository.filter.spec;
+
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.CARGO_WEIGHT;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.MIN_WEIGHT_KEY;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Provides specifications for filtering cargo entities based on the minimum weight.
+ */
+@Component
+public class MinWeightSpecificationProvider implements SpecificationProvider<Cargo> {
+    /**
+     * Retrieves the key associated with this specification provider.
+     *
+     * @return The key of the specification provider
+     */
+    @Override
+    public String getKey() {
+        return MIN_WEIGHT_KEY;
+    }
+
+    /**
+     * Generates a specification to filter cargo entities based on the minimum weight.
+     *
+     * @param params The minimum weight, inclusive
+     * @return The generated specification
+     */
+    public Specification<Cargo> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(
+                root.<Double>get(CARGO_WEIGHT), Double.valueOf(params[0]));
+    }
+
+    /**
+     * Generates the SQL condition filtering cargos based on the minimum weight.
+     *
+     * @param params The minimum weight, inclusive
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onCargo("c.weight >= ?", Double.valueOf(params[0]));
+    }
+}
@@ -0,0 +1,50 @@
+package org.varukha.deliveryservice.repository.filter.spec;
+
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.ROUTE_TO_KEY;
+
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.repository.filter.CargoPredicates;
+import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Provides specifications for filtering cargo entities based on the route end of the vehicle.
+ */
+@Component
+public class RouteToSpecificationProvider implements SpecificationProvider<Cargo> {
+    /**
+     * Retrieves the key associated with this specification provider.
+     *
+     * @return The key of the specification provider
+     */
+    @Override
+    public String getKey() {
+        return ROUTE_TO_KEY;
+    }
+
+    /**
+     * Generates a specification to filter cargo entities based on the route end of the vehicle.
+     *
+     * @param params The route ends to filter by
+     * @return The generated specification
+     */
+    public Specification<Cargo> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> CargoPredicates.vehicleJoin(root)
+                .get(ROUTE_TO_KEY).in(Arrays.asList(params));
+    }
+
+    /**
+     * Generates the SQL condition filtering cargos based on the route end of the vehicle.
+     *
+     * @param params The route ends to filter by
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onVehicle("v.route_to IN " + SqlCondition.inList(params.length),
+                (Object[]) params);
+    }
+}
@@ -0,0 +1,51 @@
+package org.varukha.deliveryservice.repository.filter.spec;
+
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.VEHICLE_NUMBER_KEY;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.repository.filter.CargoPredicates;
+import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
+
+/**
+ * Provides specifications for filtering cargo entities based on a prefix of the vehicle number.
+ */
+@Component
+public class VehicleNumberSpecificationProvider implements SpecificationProvider<Cargo> {
+    /**
+     * Retrieves the key associated with this specification provider.
+     *
+     * @return The key of the specification provider
+     */
+    @Override
+    public String getKey() {
+        return VEHICLE_NUMBER_KEY;
+    }
+
+    /**
+     * Generates a specification to filter cargo entities based on a prefix of the vehicle number.
+     *
+     * @param params The prefix the vehicle number starts with
+     * @return The generated specification
+     */
+    public Specification<Cargo> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+                CargoPredicates.vehicleJoin(root).get(VEHICLE_NUMBER_KEY),
+                CargoPredicates.prefixPattern(params[0]),
+                CargoPredicates.LIKE_ESCAPE);
+    }
+
+    /**
+     * Generates the SQL condition filtering cargos based on a prefix of the vehicle number.
+     *
+     * @param params The prefix the vehicle number starts with
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onVehicle(SqlCondition.like("v.number"),
+                CargoPredicates.prefixPattern(params[0]));
+    }
+}
@@ -2,20 +2,19 @@ package org.varukha.deliveryservice.repository.filter.spec;
 
 import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.VEHICLE_TYPE_KEY;
 
-import jakarta.persistence.criteria.JoinType;
 import java.util.Arrays;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.repository.filter.CargoPredicates;
 import org.varukha.deliveryservice.repository.filter.SpecificationProvider;
+import org.varukha.deliveryservice.repository.filter.SqlCondition;
 
 /**
  * Provides specifications for filtering cargo entities based on vehicle type.
  */
 @Component
 public class VehicleTypeSpecificationProvider implements SpecificationProvider<Cargo> {
-    private static final String ENTITY_TYPE_VEHICLE = "vehicle";
-
     /**
      * Retrieves the key associated with this specification provider.
      *
@@ -33,7 +32,19 @@ public class VehicleTypeSpecificationProvider implements SpecificationProvider<C
      * @return The generated specification
      */
     public Specification<Cargo> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) -> root.join(ENTITY_TYPE_VEHICLE, JoinType.INNER)
+        return (root, query, criteriaBuilder) -> CargoPredicates.vehicleJoin(root)
                 .get(VEHICLE_TYPE_KEY).in(Arrays.asList(params));
     }
+
+    /**
+     * Generates the SQL condition filtering cargos based on vehicle type.
+     *
+     * @param params The vehicle types to filter by
+     * @return The generated condition
+     */
+    @Override
+    public SqlCondition getSqlCondition(String[] params) {
+        return SqlCondition.onVehicle("v.type IN " + SqlCondition.inList(params.length),
+                (Object[]) params);
+    }
 }
@@ -0,0 +1,29 @@
+package org.varukha.deliveryservice.service;
+
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+
+/**
+ * Service interface for counting the cargos of a search without a count query
+ * on every request.
+ */
+public interface CargoCountService {
+
+    /**
+     * Counts the cargos matching the search parameters, reusing the count of an earlier
+     * request with the same filter while it has not expired and the cargo data has not
+     * changed since.
+     *
+     * @param searchParametersDto Parameters for filtering cargo entities.
+     * @return The exact number of matching cargos.
+     */
+    long getCachedCount(CargoSearchRequestDto searchParametersDto);
+
+    /**
+     * Estimates the number of cargos matching the search parameters from the planner
+     * statistics of the database, without reading the cargos.
+     *
+     * @param searchParametersDto Parameters for filtering cargo entities.
+     * @return The estimated number of matching cargos.
+     */
+    long estimateCount(CargoSearchRequestDto searchParametersDto);
+}
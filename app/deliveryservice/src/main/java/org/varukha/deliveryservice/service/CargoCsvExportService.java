@@ -0,0 +1,20 @@
+package org.varukha.deliveryservice.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+
+/**
+ * Service for exporting cargo data as CSV based on search parameters.
+ */
+public interface CargoCsvExportService {
+    /**
+     * Streams the cargos matching the search parameters as CSV, one row per cargo.
+     *
+     * @param searchParameters The search parameters to filter the cargo data.
+     * @param gzip             Whether to gzip-encode the response body.
+     * @return ResponseEntity whose body writes the CSV export to the response.
+     */
+    ResponseEntity<StreamingResponseBody> streamCsvExport(CargoSearchRequestDto searchParameters,
+                                                          boolean gzip);
+}
@@ -1,7 +1,10 @@
 package org.varukha.deliveryservice.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
 
 /**
@@ -15,4 +18,38 @@ public interface CargoExcelReportService {
      * @return ResponseEntity containing the generated Excel report as a Resource.
      */
     ResponseEntity<Resource> generateExcelReport(CargoSearchRequestDto searchParameters);
+
+    /**
+     * Streams an Excel report for cargo based on the provided search parameters.
+     * Rows are written through a sliding window, so memory use does not depend on
+     * the number of cargos in the report.
+     *
+     * @param searchParameters The search parameters to filter the cargo data.
+     * @param partitioned      Whether to write a summary sheet and one sheet per vehicle type.
+     * @return ResponseEntity whose body writes the Excel report to the response.
+     */
+    ResponseEntity<StreamingResponseBody> streamExcelReport(CargoSearchRequestDto searchParameters,
+                                                            boolean partitioned);
+
+    /**
+     * Writes an Excel report for cargo based on the provided search parameters to a stream,
+     * with the same bounded memory use as the streamed report.
+     *
+     * @param searchParameters The search parameters to filter the cargo data.
+     * @param outputStream     The stream to write the report to, left open.
+     * @throws IOException If the report cannot be written.
+     */
+    void writeExcelReport(CargoSearchRequestDto searchParameters, OutputStream outputStream)
+            throws IOException;
+
+    /**
+     * Writes an Excel report for cargo with a summary sheet followed by one sheet per
+     * vehicle type, whose rows are fetched and rendered concurrently.
+     *
+     * @param searchParameters The search parameters to filter the cargo data.
+     * @param outputStream     The stream to write the report to, left open.
+     * @throws IOException If the report cannot be written.
+     */
+    void writePartitionedExcelReport(CargoSearchRequestDto searchParameters,
+                                     OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,19 @@
+package org.varukha.deliveryservice.service;
+
+import java.util.UUID;
+import org.varukha.deliveryservice.model.Cargo;
+
+/**
+ * Service computing the natural key of cargos, a hash of their configured key fields.
+ * Only upsert imports store the key, in the natural_key column, so only cargos saved
+ * by upserts are matched by a later upsert.
+ */
+public interface CargoNaturalKeyService {
+    /**
+     * Computes the natural key of a cargo from its configured key fields.
+     *
+     * @param cargo The cargo, with its vehicle resolved
+     * @return the natural key of the cargo
+     */
+    UUID naturalKey(Cargo cargo);
+}
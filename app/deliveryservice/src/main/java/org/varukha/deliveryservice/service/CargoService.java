@@ -1,11 +1,15 @@
 package org.varukha.deliveryservice.service;
 
-import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Pageable;
+import org.varukha.deliveryservice.dto.cargo.CargoCursorPageResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoListResponseDto;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
 import org.varukha.deliveryservice.dto.cargo.CargoRequestDto;
 import org.varukha.deliveryservice.dto.cargo.CargoResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.model.enums.CountMode;
+import org.varukha.deliveryservice.model.enums.CursorOrder;
 
 /**
  * Service interface for managing cargo operations.
@@ -49,16 +53,38 @@ public interface CargoService {
      *
      * @param pageable            Pagination information.
      * @param searchParametersDto Parameters for filtering cargo entities.
+     * @param countMode           How the total pages are computed.
      * @return The paginated list of cargo DTOs.
      */
     CargoListResponseDto getPaginatedFilteredList(Pageable pageable,
-                                                  CargoSearchRequestDto searchParametersDto);
+                                                  CargoSearchRequestDto searchParametersDto,
+                                                  CountMode countMode);
 
     /**
-     * Retrieves a filtered list of cargo entities.
+     * Retrieves a page of filtered cargo entities following a cursor. The page is found
+     * by seeking past the cursor position on the page key, so its cost does not grow with
+     * the number of pages read before it, and no total count is computed.
      *
      * @param searchParametersDto Parameters for filtering cargo entities.
-     * @return The filtered list of cargo DTOs.
+     * @param order               The key the pages are ordered by.
+     * @param cursor              The token returned with the previous page, or null for
+     *                            the first page.
+     * @param size                The maximum number of cargos in the page.
+     * @return The page of cargo DTOs with the token of the next page.
      */
-    List<CargoResponseDto> getFilteredList(CargoSearchRequestDto searchParametersDto);
+    CargoCursorPageResponseDto getCursorPage(CargoSearchRequestDto searchParametersDto,
+                                             CursorOrder order,
+                                             String cursor,
+                                             int size);
+
+    /**
+     * Passes the report rows of the filtered cargo entities to the consumer, in ID order.
+     * Rows are read from a database cursor as the consumer takes them, so no list of
+     * cargos is built.
+     *
+     * @param searchParametersDto Parameters for filtering cargo entities.
+     * @param rowConsumer         The consumer invoked with every row, inside the transaction.
+     */
+    void forEachReportRow(CargoSearchRequestDto searchParametersDto,
+                          Consumer<CargoReportRowDto> rowConsumer);
 }
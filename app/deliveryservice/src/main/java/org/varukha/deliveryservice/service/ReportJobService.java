@@ -0,0 +1,40 @@
+package org.varukha.deliveryservice.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.dto.report.ReportJobResponseDto;
+
+/**
+ * Service for generating cargo Excel reports in the background and serving the stored files.
+ */
+public interface ReportJobService {
+    /**
+     * Starts generating a report for the search parameters, or returns the job of an
+     * identical report if one is running or stored for the current data.
+     *
+     * @param searchParameters The search parameters to filter the cargo data
+     * @return The report job response DTO
+     */
+    ReportJobResponseDto startReport(CargoSearchRequestDto searchParameters);
+
+    /**
+     * Retrieves the current state of a report job.
+     *
+     * @param jobId The ID of the report job
+     * @return The report job response DTO
+     */
+    ReportJobResponseDto getById(String jobId);
+
+    /**
+     * Sends the report file of a completed job, or the byte range of it the request asks for.
+     *
+     * @param jobId    The ID of the report job
+     * @param request  The current request
+     * @param response The response to write the report to
+     * @throws IOException if the report cannot be sent
+     */
+    void sendReport(String jobId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException;
+}
@@ -0,0 +1,139 @@
+package org.varukha.deliveryservice.service.impl;
+
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.CARGO_STATUS;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.DESCRIPTION_KEY;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.MAX_WEIGHT_KEY;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.MIN_WEIGHT_KEY;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.ROUTE_FROM_KEY;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.ROUTE_TO_KEY;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.VEHICLE_NUMBER_KEY;
+import static org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder.VEHICLE_TYPE_KEY;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.repository.CargoRepository;
+import org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder;
+import org.varukha.deliveryservice.service.CargoCountService;
+
+/**
+ * Service class counting the cargos of a search without a count query on every request.
+ * Cached counts are keyed by the filter and checked against the version of the cargo
+ * data, which grows with every statement changing a cargo or a vehicle, so any write
+ * invalidates them before their time to live ends. A write committing while a count is
+ * taken may be missed until that count expires. Estimates are the row counts the
+ * PostgreSQL planner expects for the filter, read from EXPLAIN without running the query.
+ * The explained query filters with the native conditions of the exact count specification.
+ */
+@Service
+@RequiredArgsConstructor
+public class CargoCountServiceImpl implements CargoCountService {
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final CargoRepository cargoRepository;
+    private final CargoSpecificationBuilder specificationBuilder;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cargo.list.count-cache-ttl:PT30S}")
+    private Duration countCacheTtl;
+
+    @Value("${cargo.list.count-cache-max-entries:1000}")
+    private int countCacheMaxEntries;
+
+    /**
+     * Counts the cargos matching the search parameters, reusing a cached count of the
+     * same filter and data version that has not expired.
+     *
+     * @param searchParametersDto Parameters for filtering cargo entities.
+     * @return The exact number of matching cargos.
+     */
+    @Override
+    public long getCachedCount(CargoSearchRequestDto searchParametersDto) {
+        String key = filterKey(searchParametersDto);
+        long dataVersion = cargoRepository.getDataVersion();
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.dataVersion() == dataVersion
+                && now - cached.expiresAtNanos() < 0) {
+            return cached.count();
+        }
+        long count = cargoRepository.count(specificationBuilder.build(searchParametersDto));
+        if (counts.size() >= countCacheMaxEntries) {
+            evictCounts(now);
+        }
+        counts.put(key, new CachedCount(count, dataVersion, now + countCacheTtl.toNanos()));
+        return count;
+    }
+
+    /**
+     * Estimates the number of cargos matching the search parameters from the rows the
+     * planner expects the filtered query to return.
+     *
+     * @param searchParametersDto Parameters for filtering cargo entities.
+     * @return The estimated number of matching cargos.
+     * @throws DataProcessingException if the query plan cannot be read.
+     */
+    @Override
+    public long estimateCount(CargoSearchRequestDto searchParametersDto) {
+        String plan = cargoRepository.explain(
+                specificationBuilder.buildSqlConditions(searchParametersDto));
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new DataProcessingException("Error reading the cargo count estimate", e);
+        }
+    }
+
+    /**
+     * Builds the cache key of the search parameters. Values are deduplicated and sorted,
+     * as their order does not change the matching cargos.
+     *
+     * @param searchParametersDto The search parameters
+     * @return The cache key
+     */
+    private String filterKey(CargoSearchRequestDto searchParametersDto) {
+        return CARGO_STATUS + "=" + keyValues(searchParametersDto.status())
+                + ";" + VEHICLE_TYPE_KEY + "=" + keyValues(searchParametersDto.type())
+                + ";" + MIN_WEIGHT_KEY + "=" + searchParametersDto.minWeight()
+                + ";" + MAX_WEIGHT_KEY + "=" + searchParametersDto.maxWeight()
+                + ";" + ROUTE_FROM_KEY + "=" + keyValues(searchParametersDto.routeFrom())
+                + ";" + ROUTE_TO_KEY + "=" + keyValues(searchParametersDto.routeTo())
+                + ";" + VEHICLE_NUMBER_KEY + "=" + searchParametersDto.vehicleNumber()
+                + ";" + DESCRIPTION_KEY + "=" + searchParametersDto.description();
+    }
+
+    private String keyValues(String[] values) {
+        if (values == null) {
+            return "";
+        }
+        return Arrays.stream(values)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Removes the expired counts, and all counts if the cache is still full.
+     *
+     * @param now The current value of System.nanoTime()
+     */
+    private void evictCounts(long now) {
+        counts.values().removeIf(cached -> now - cached.expiresAtNanos() >= 0);
+        if (counts.size() >= countCacheMaxEntries) {
+            counts.clear();
+        }
+    }
+
+    private record CachedCount(long count, long dataVersion, long expiresAtNanos) {
+    }
+}
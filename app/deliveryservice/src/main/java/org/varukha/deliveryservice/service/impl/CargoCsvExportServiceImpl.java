@@ -0,0 +1,149 @@
+package org.varukha.deliveryservice.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.service.CargoCsvExportService;
+import org.varukha.deliveryservice.service.CargoService;
+
+/**
+ * Service implementation exporting cargo data as CSV. Rows are written to the response
+ * as they are read from the database cursor, through one buffer, without building a
+ * workbook or a list; the output is RFC 4180 CSV in UTF-8 with a header row.
+ */
+@Service
+@RequiredArgsConstructor
+public class CargoCsvExportServiceImpl implements CargoCsvExportService {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String EXPORT_NAME = "cargos.csv";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String HEADER_ROW = "id,vehicle_type,vehicle_number,route_from,"
+            + "route_to,description,weight,status\r\n";
+
+    private final CargoService cargoService;
+
+    /**
+     * Streams the cargos matching the search parameters as CSV, one row per cargo.
+     * The body is written when the response is, outside the request thread.
+     *
+     * @param searchParameters The search parameters to filter the cargo data.
+     * @param gzip             Whether to gzip-encode the response body.
+     * @return ResponseEntity whose body writes the CSV export to the response.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamCsvExport(
+            CargoSearchRequestDto searchParameters, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_CSV);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(EXPORT_NAME)
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(outputStream -> writeCsvExport(searchParameters, gzip, outputStream));
+    }
+
+    /**
+     * Writes the CSV export to the response stream.
+     *
+     * @param searchParameters The search parameters to filter the cargo data.
+     * @param gzip             Whether to gzip the written rows.
+     * @param outputStream     The response stream.
+     * @throws IOException If the export cannot be written.
+     */
+    private void writeCsvExport(CargoSearchRequestDto searchParameters,
+                                boolean gzip,
+                                OutputStream outputStream) throws IOException {
+        OutputStream encodedStream = gzip
+                ? new GZIPOutputStream(outputStream, BUFFER_SIZE)
+                : outputStream;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(encodedStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER_ROW);
+        try {
+            cargoService.forEachReportRow(searchParameters, row -> writeRow(writer, row));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (encodedStream instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+    }
+
+    /**
+     * Writes a cargo as a CSV row.
+     *
+     * @param writer The writer to write to.
+     * @param row    The cargo report row to write.
+     * @throws UncheckedIOException If the row cannot be written.
+     */
+    private void writeRow(Writer writer, CargoReportRowDto row) {
+        try {
+            writer.write(Long.toString(row.id()));
+            writer.write(',');
+            writer.write(row.vehicleType().name());
+            writer.write(',');
+            writeText(writer, row.vehicleNumber());
+            writer.write(',');
+            writeText(writer, row.routeFrom());
+            writer.write(',');
+            writeText(writer, row.routeTo());
+            writer.write(',');
+            writeText(writer, row.description());
+            writer.write(',');
+            writer.write(Double.toString(row.weight()));
+            writer.write(',');
+            writer.write(row.status().name());
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a text value, quoted only if it contains a delimiter, a quote or a line break.
+     *
+     * @param writer The writer to write to.
+     * @param text   The value to write.
+     * @throws IOException If the value cannot be written.
+     */
+    private void writeText(Writer writer, String text) throws IOException {
+        if (!needsQuoting(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character == ',' || character == '"' || character == '\n' || character == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
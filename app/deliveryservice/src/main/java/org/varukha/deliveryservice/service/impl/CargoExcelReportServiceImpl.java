@@ -2,28 +2,41 @@ package org.varukha.deliveryservice.service.impl;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.varukha.deliveryservice.dto.cargo.CargoResponseDto;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
 import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.model.enums.VehicleType;
 import org.varukha.deliveryservice.service.CargoExcelReportService;
 import org.varukha.deliveryservice.service.CargoService;
+import org.varukha.deliveryservice.util.report.ColumnWidthEstimator;
 
 /**
  * Service implementation for generating Excel reports for cargo entities.
+ * Partitioned reports put the cargos of every vehicle type on a sheet of their own,
+ * fetched and rendered concurrently, after a summary sheet.
  */
 @Service
 @RequiredArgsConstructor
@@ -47,10 +60,23 @@ public class CargoExcelReportServiceImpl implements CargoExcelReportService {
     private static final int DESCRIPTION_CELL_INDEX_HEADER = 5;
     private static final int WEIGHT_CELL_INDEX_HEADER = 6;
     private static final int STATUS_CELL_INDEX_HEADER = 7;
+    private static final int COLUMN_COUNT = STATUS_CELL_INDEX_HEADER + 1;
     private static final String RESPONSE_HEADER_ATTACHMENT = "attachment";
     private static final String REPORT_NAME_HEADER = "cargos_report.xlsx";
+    private static final String SUMMARY_SHEET_NAME = "Summary";
+    private static final String SUMMARY_TOTAL_NAME = "Total";
+    private static final String SUMMARY_CARGOS_FIELD_NAME = "Cargos";
+    private static final String SUMMARY_WEIGHT_FIELD_NAME = "Total Weight";
+    private static final int SUMMARY_TYPE_CELL_INDEX = 0;
+    private static final int SUMMARY_CARGOS_CELL_INDEX = 1;
+    private static final int SUMMARY_WEIGHT_CELL_INDEX = 2;
+    private static final int SUMMARY_COLUMN_COUNT = SUMMARY_WEIGHT_CELL_INDEX + 1;
 
     private final CargoService cargoService;
+    private final ForkJoinPool reportPartitionPool;
+
+    @Value("${cargo.report.row-window:100}")
+    private int rowWindow;
 
     /**
      * Generates and returns an Excel report for cargos based on the provided search parameters.
@@ -59,18 +85,107 @@ public class CargoExcelReportServiceImpl implements CargoExcelReportService {
      * @return ResponseEntity containing the Excel report.
      */
     @Override
-    @Transactional
     public ResponseEntity<Resource> generateExcelReport(CargoSearchRequestDto searchParameters) {
-        List<CargoResponseDto> cargoList = cargoService.getFilteredList(searchParameters);
         Workbook workbook = new XSSFWorkbook();
         Sheet sheet = workbook.createSheet(REPORT_SHEET_NAME_CARGO);
-        createHeaderRow(sheet);
-        populateDataRow(cargoList, sheet);
-        autoSizeColumns(sheet);
+        writeSheet(searchParameters, sheet);
         byte[] excelBytesArray = getExcelBytesArray(workbook);
         return buildExcelReport(excelBytesArray);
     }
 
+    /**
+     * Streams an Excel report for cargos based on the provided search parameters.
+     * The report is built when the response body is written, outside the request thread.
+     *
+     * @param searchParameters The search parameters for filtering cargos.
+     * @param partitioned      Whether to write one sheet per vehicle type.
+     * @return ResponseEntity whose body writes the Excel report.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamExcelReport(
+            CargoSearchRequestDto searchParameters, boolean partitioned) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData(RESPONSE_HEADER_ATTACHMENT, REPORT_NAME_HEADER);
+        StreamingResponseBody body = partitioned
+                ? outputStream -> writePartitionedExcelReport(searchParameters, outputStream)
+                : outputStream -> writeExcelReport(searchParameters, outputStream);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    /**
+     * Writes the report with a streaming workbook. Only the last rows of the sheet are
+     * kept in memory; older rows are flushed to a compressed temporary file, which is
+     * copied to the output stream when the workbook is written and deleted afterwards.
+     *
+     * @param searchParameters The search parameters for filtering cargos.
+     * @param outputStream     The stream to write the workbook to.
+     * @throws IOException If the workbook cannot be written.
+     */
+    @Override
+    public void writeExcelReport(CargoSearchRequestDto searchParameters,
+                                 OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet(REPORT_SHEET_NAME_CARGO);
+            writeSheet(searchParameters, sheet);
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Writes a report with a summary sheet followed by one sheet per requested vehicle type.
+     * Every partition is read by its own query and written to its sheet by a task on the
+     * partition pool, so the partitions are fetched and rendered concurrently. The sheets
+     * are created up front on this thread, and every task touches only its own sheet; the
+     * report uses neither cell styles nor shared strings, so the tasks share no mutable
+     * workbook state. Column widths and the summary are written here once all tasks
+     * have finished.
+     *
+     * @param searchParameters The search parameters for filtering cargos.
+     * @param outputStream     The stream to write the workbook to.
+     * @throws IOException If the workbook cannot be written.
+     */
+    @Override
+    public void writePartitionedExcelReport(CargoSearchRequestDto searchParameters,
+                                            OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet summarySheet = workbook.createSheet(SUMMARY_SHEET_NAME);
+            List<ForkJoinTask<SheetSummary>> partitions = new ArrayList<>();
+            for (VehicleType vehicleType : requestedVehicleTypes(searchParameters)) {
+                SXSSFSheet sheet = workbook.createSheet(vehicleType.getVehicleType());
+                CargoSearchRequestDto partitionParameters = new CargoSearchRequestDto(
+                        new String[]{vehicleType.name()},
+                        searchParameters.status(),
+                        searchParameters.minWeight(),
+                        searchParameters.maxWeight(),
+                        searchParameters.routeFrom(),
+                        searchParameters.routeTo(),
+                        searchParameters.vehicleNumber(),
+                        searchParameters.description());
+                partitions.add(reportPartitionPool.submit(() ->
+                        fillSheet(vehicleType, partitionParameters, sheet)));
+            }
+            List<SheetSummary> summaries = joinAll(partitions);
+            for (SheetSummary summary : summaries) {
+                summary.columnWidths().applyTo(summary.sheet());
+            }
+            writeSummarySheet(summarySheet, summaries);
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
     /**
      * Converts the Excel workbook to a byte array.
      *
@@ -115,63 +230,197 @@ public class CargoExcelReportServiceImpl implements CargoExcelReportService {
     }
 
     /**
-     * Creates the header row for the Excel report sheet.
+     * Writes the header and data rows of the report to the sheet, then sizes its columns
+     * to the widest value written to each of them.
      *
-     * @param sheet The sheet to create the header row for.
+     * @param searchParameters The search parameters for filtering cargos.
+     * @param sheet            The sheet to write.
      */
-    private void createHeaderRow(Sheet sheet) {
-        Row headerRow = sheet.createRow(FIRST_ROW_INDEX_HEADER);
-        headerRow.createCell(ID_CELL_INDEX_HEADER).setCellValue(ID_FIELD);
-        headerRow.createCell(TYPE_CELL_INDEX_HEADER).setCellValue(TYPE_FIELD_NAME);
-        headerRow.createCell(NUMBER_CELL_INDEX_HEADER).setCellValue(NUMBER_FIELD_NAME);
-        headerRow.createCell(ROUTE_FROM_CELL_INDEX_HEADER).setCellValue(ROUTE_FROM_FIELD_NAME);
-        headerRow.createCell(ROUTE_TO_CELL_INDEX_HEADER).setCellValue(ROUTE_TO_FIELD_NAME);
-        headerRow.createCell(DESCRIPTION_CELL_INDEX_HEADER).setCellValue(DESCRIPTION_FIELD_NAME);
-        headerRow.createCell(WEIGHT_CELL_INDEX_HEADER).setCellValue(WEIGHT_FIELD_NAME);
-        headerRow.createCell(STATUS_CELL_INDEX_HEADER).setCellValue(STATUS_FIELD_NAME);
+    private void writeSheet(CargoSearchRequestDto searchParameters, Sheet sheet) {
+        fillSheet(null, searchParameters, sheet).columnWidths().applyTo(sheet);
+    }
+
+    /**
+     * Writes the header and data rows of the report to the sheet, recording the widths
+     * of the written values and the totals of the sheet.
+     *
+     * @param vehicleType      The vehicle type of the sheet, or null if it has every type.
+     * @param searchParameters The search parameters for filtering cargos.
+     * @param sheet            The sheet to write.
+     * @return The column widths and totals of the sheet.
+     */
+    private SheetSummary fillSheet(VehicleType vehicleType,
+                                   CargoSearchRequestDto searchParameters,
+                                   Sheet sheet) {
+        ColumnWidthEstimator columnWidths = new ColumnWidthEstimator(COLUMN_COUNT);
+        createHeaderRow(sheet, columnWidths);
+        int[] nextRowIndex = {FIRST_ROW_INDEX_HEADER + 1};
+        double[] totalWeight = {0};
+        Consumer<CargoReportRowDto> rowWriter = cargo -> {
+            populateDataRow(cargo, sheet.createRow(nextRowIndex[0]++), columnWidths);
+            totalWeight[0] += cargo.weight();
+        };
+        cargoService.forEachReportRow(searchParameters, rowWriter);
+        return new SheetSummary(vehicleType, sheet, columnWidths,
+                nextRowIndex[0] - FIRST_ROW_INDEX_HEADER - 1, totalWeight[0]);
     }
 
     /**
-     * Populates the data rows in the Excel report sheet with cargo information.
+     * Resolves the vehicle types a partitioned report has sheets for: the types named
+     * by the type filter, or every type if there is no type filter. Unknown names are
+     * ignored, as they match no cargo.
      *
-     * @param cargoList The list of cargo response DTOs to populate the data rows with.
-     * @param sheet     The sheet to populate with data rows.
-     */
-    private void populateDataRow(List<CargoResponseDto> cargoList, Sheet sheet) {
-        for (int dataRowIndex = 0; dataRowIndex < cargoList.size(); dataRowIndex++) {
-            CargoResponseDto cargo = cargoList.get(dataRowIndex);
-            Row dataRow = sheet.createRow(dataRowIndex + 1);
-            dataRow.createCell(ID_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.id());
-            dataRow.createCell(TYPE_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.vehicle().getType().getVehicleType());
-            dataRow.createCell(NUMBER_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.vehicle().getVehicleNumber());
-            dataRow.createCell(ROUTE_FROM_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.vehicle().getRouteFrom());
-            dataRow.createCell(ROUTE_TO_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.vehicle().getRouteTo());
-            dataRow.createCell(DESCRIPTION_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.description());
-            dataRow.createCell(WEIGHT_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.weight());
-            dataRow.createCell(STATUS_CELL_INDEX_HEADER)
-                    .setCellValue(cargo.status());
+     * @param searchParameters The search parameters for filtering cargos.
+     * @return The vehicle types of the report, in declaration order.
+     */
+    private List<VehicleType> requestedVehicleTypes(CargoSearchRequestDto searchParameters) {
+        if (searchParameters.type() == null || searchParameters.type().length == 0) {
+            return List.of(VehicleType.values());
         }
+        List<String> requestedNames = Arrays.asList(searchParameters.type());
+        return Arrays.stream(VehicleType.values())
+                .filter(vehicleType -> requestedNames.contains(vehicleType.name()))
+                .toList();
     }
 
     /**
-     * Automatically adjusts the width of columns in the Excel report sheet based on the content.
+     * Waits for every partition task, so that none is still writing when the workbook
+     * is disposed, and rethrows the first failure.
      *
-     * @param sheet The sheet to adjust column widths for.
-     */
-    private void autoSizeColumns(Sheet sheet) {
-        Row headerRow = sheet.getRow(FIRST_ROW_INDEX_HEADER);
-        if (headerRow != null) {
-            int numColumns = headerRow.getLastCellNum();
-            for (int i = 0; i < numColumns; i++) {
-                sheet.autoSizeColumn(i);
+     * @param partitions The partition tasks.
+     * @return The summaries of the partitions, in submission order.
+     */
+    private List<SheetSummary> joinAll(List<ForkJoinTask<SheetSummary>> partitions) {
+        List<SheetSummary> summaries = new ArrayList<>(partitions.size());
+        RuntimeException failure = null;
+        for (ForkJoinTask<SheetSummary> partition : partitions) {
+            try {
+                summaries.add(partition.join());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
             }
         }
+        if (failure != null) {
+            throw failure;
+        }
+        return summaries;
+    }
+
+    /**
+     * Writes the number and total weight of the cargos of every vehicle type, and their
+     * sums, to the summary sheet.
+     *
+     * @param sheet     The summary sheet.
+     * @param summaries The summaries of the partition sheets.
+     */
+    private void writeSummarySheet(Sheet sheet, List<SheetSummary> summaries) {
+        ColumnWidthEstimator columnWidths = new ColumnWidthEstimator(SUMMARY_COLUMN_COUNT);
+        Row headerRow = sheet.createRow(FIRST_ROW_INDEX_HEADER);
+        createCell(headerRow, SUMMARY_TYPE_CELL_INDEX, TYPE_FIELD_NAME, columnWidths);
+        createCell(headerRow, SUMMARY_CARGOS_CELL_INDEX, SUMMARY_CARGOS_FIELD_NAME,
+                columnWidths);
+        createCell(headerRow, SUMMARY_WEIGHT_CELL_INDEX, SUMMARY_WEIGHT_FIELD_NAME,
+                columnWidths);
+        int rowIndex = FIRST_ROW_INDEX_HEADER + 1;
+        long totalCargos = 0;
+        double totalWeight = 0;
+        for (SheetSummary summary : summaries) {
+            writeSummaryRow(sheet.createRow(rowIndex++),
+                    summary.vehicleType().getVehicleType(), summary.cargos(),
+                    summary.totalWeight(), columnWidths);
+            totalCargos += summary.cargos();
+            totalWeight += summary.totalWeight();
+        }
+        writeSummaryRow(sheet.createRow(rowIndex), SUMMARY_TOTAL_NAME, totalCargos,
+                totalWeight, columnWidths);
+        columnWidths.applyTo(sheet);
+    }
+
+    private void writeSummaryRow(Row row,
+                                 String name,
+                                 long cargos,
+                                 double totalWeight,
+                                 ColumnWidthEstimator columnWidths) {
+        createCell(row, SUMMARY_TYPE_CELL_INDEX, name, columnWidths);
+        createCell(row, SUMMARY_CARGOS_CELL_INDEX, cargos, columnWidths);
+        createCell(row, SUMMARY_WEIGHT_CELL_INDEX, totalWeight, columnWidths);
+    }
+
+    /**
+     * Creates the header row for the Excel report sheet.
+     *
+     * @param sheet        The sheet to create the header row for.
+     * @param columnWidths The estimator recording the widths of the written values.
+     */
+    private void createHeaderRow(Sheet sheet, ColumnWidthEstimator columnWidths) {
+        Row headerRow = sheet.createRow(FIRST_ROW_INDEX_HEADER);
+        createCell(headerRow, ID_CELL_INDEX_HEADER, ID_FIELD, columnWidths);
+        createCell(headerRow, TYPE_CELL_INDEX_HEADER, TYPE_FIELD_NAME, columnWidths);
+        createCell(headerRow, NUMBER_CELL_INDEX_HEADER, NUMBER_FIELD_NAME, columnWidths);
+        createCell(headerRow, ROUTE_FROM_CELL_INDEX_HEADER, ROUTE_FROM_FIELD_NAME, columnWidths);
+        createCell(headerRow, ROUTE_TO_CELL_INDEX_HEADER, ROUTE_TO_FIELD_NAME, columnWidths);
+        createCell(headerRow, DESCRIPTION_CELL_INDEX_HEADER, DESCRIPTION_FIELD_NAME,
+                columnWidths);
+        createCell(headerRow, WEIGHT_CELL_INDEX_HEADER, WEIGHT_FIELD_NAME, columnWidths);
+        createCell(headerRow, STATUS_CELL_INDEX_HEADER, STATUS_FIELD_NAME, columnWidths);
+    }
+
+    /**
+     * Fills a data row of the Excel report sheet with the information of a cargo.
+     *
+     * @param cargo        The cargo report row to fill the row with.
+     * @param dataRow      The row to fill.
+     * @param columnWidths The estimator recording the widths of the written values.
+     */
+    private void populateDataRow(CargoReportRowDto cargo,
+                                 Row dataRow,
+                                 ColumnWidthEstimator columnWidths) {
+        createCell(dataRow, ID_CELL_INDEX_HEADER, cargo.id(), columnWidths);
+        createCell(dataRow, TYPE_CELL_INDEX_HEADER,
+                cargo.vehicleType().getVehicleType(), columnWidths);
+        createCell(dataRow, NUMBER_CELL_INDEX_HEADER, cargo.vehicleNumber(), columnWidths);
+        createCell(dataRow, ROUTE_FROM_CELL_INDEX_HEADER, cargo.routeFrom(), columnWidths);
+        createCell(dataRow, ROUTE_TO_CELL_INDEX_HEADER, cargo.routeTo(), columnWidths);
+        createCell(dataRow, DESCRIPTION_CELL_INDEX_HEADER, cargo.description(), columnWidths);
+        createCell(dataRow, WEIGHT_CELL_INDEX_HEADER, cargo.weight(), columnWidths);
+        createCell(dataRow, STATUS_CELL_INDEX_HEADER, cargo.status().name(), columnWidths);
+    }
+
+    /**
+     * Creates a text cell and records the width of its value.
+     *
+     * @param row          The row to create the cell in.
+     * @param column       The column index of the cell.
+     * @param value        The value of the cell.
+     * @param columnWidths The estimator recording the widths of the written values.
+     */
+    private void createCell(Row row, int column, String value, ColumnWidthEstimator columnWidths) {
+        row.createCell(column).setCellValue(value);
+        columnWidths.record(column, value);
+    }
+
+    /**
+     * Creates a numeric cell and records the width of its value.
+     *
+     * @param row          The row to create the cell in.
+     * @param column       The column index of the cell.
+     * @param value        The value of the cell.
+     * @param columnWidths The estimator recording the widths of the written values.
+     */
+    private void createCell(Row row, int column, double value, ColumnWidthEstimator columnWidths) {
+        row.createCell(column).setCellValue(value);
+        columnWidths.record(column, value);
+    }
+
+    /**
+     * The outcome of writing a sheet: its column widths and the totals of its cargos.
+     */
+    private record SheetSummary(VehicleType vehicleType,
+                                Sheet sheet,
+                                ColumnWidthEstimator columnWidths,
+                                long cargos,
+                                double totalWeight) {
     }
 }
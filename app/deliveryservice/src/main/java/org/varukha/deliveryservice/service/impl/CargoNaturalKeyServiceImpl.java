@@ -0,0 +1,76 @@
+package org.varukha.deliveryservice.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
+import org.varukha.deliveryservice.service.CargoNaturalKeyService;
+import org.varukha.deliveryservice.util.io.ContentHash;
+
+/**
+ * Service class computing cargo natural keys. The key is a 128-bit hash of the fields
+ * listed in cargo.import.upsert-key, each prefixed with its length, so different values
+ * can never concatenate to the same text. Fields left out of the key are the ones an upsert
+ * updates; the default key covers every stored field, so upserts only insert or skip.
+ */
+@Service
+public class CargoNaturalKeyServiceImpl implements CargoNaturalKeyService {
+    private static final Map<String, Function<KeyValues, Object>> KEY_FIELDS = Map.of(
+            "vehicleNumber", KeyValues::vehicleNumber,
+            "description", KeyValues::description,
+            "weight", KeyValues::weight,
+            "status", KeyValues::status);
+
+    private final List<Function<KeyValues, Object>> keyFields;
+
+    /**
+     * Creates the service for the configured natural key.
+     *
+     * @param keyFieldNames the cargo fields forming the natural key
+     * @throws IllegalArgumentException if a key field is unknown
+     */
+    public CargoNaturalKeyServiceImpl(
+            @Value("${cargo.import.upsert-key:vehicleNumber,description,weight,status}")
+            List<String> keyFieldNames) {
+        this.keyFields = keyFieldNames.stream()
+                .map(String::trim)
+                .map(name -> {
+                    Function<KeyValues, Object> field = KEY_FIELDS.get(name);
+                    if (field == null) {
+                        throw new IllegalArgumentException("Unknown cargo.import.upsert-key field "
+                                + name + ", expected any of " + KEY_FIELDS.keySet());
+                    }
+                    return field;
+                })
+                .toList();
+    }
+
+    @Override
+    public UUID naturalKey(Cargo cargo) {
+        return naturalKey(new KeyValues(cargo.getVehicle().getVehicleNumber(),
+                cargo.getDescription(), cargo.getWeight(), cargo.getStatus()));
+    }
+
+    private UUID naturalKey(KeyValues values) {
+        StringBuilder key = new StringBuilder();
+        for (Function<KeyValues, Object> keyField : keyFields) {
+            String value = String.valueOf(keyField.apply(values));
+            key.append(value.length()).append(':').append(value);
+        }
+        return ContentHash.sha256Uuid(key.toString());
+    }
+
+    /**
+     * The cargo values a natural key can be built from.
+     */
+    private record KeyValues(
+            String vehicleNumber,
+            String description,
+            double weight,
+            DeliveryStatus status) {
+    }
+}
@@ -3,16 +3,22 @@ package org.varukha.deliveryservice.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.varukha.deliveryservice.dto.cargo.CargoCursorPageResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoListResponseDto;
+import org.varukha.deliveryservice.dto.cargo.CargoReportRowDto;
 import org.varukha.deliveryservice.dto.cargo.CargoRequestDto;
 import org.varukha.deliveryservice.dto.cargo.CargoResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
@@ -20,13 +26,19 @@ import org.varukha.deliveryservice.dto.cargo.CargoSearchResponseDto;
 import org.varukha.deliveryservice.dto.emailmessage.EmailMessageDto;
 import org.varukha.deliveryservice.exception.EntityNotFoundException;
 import org.varukha.deliveryservice.exception.EntitySaveException;
+import org.varukha.deliveryservice.exception.InvalidCursorException;
 import org.varukha.deliveryservice.mapper.CargoMapper;
 import org.varukha.deliveryservice.model.Cargo;
 import org.varukha.deliveryservice.model.Vehicle;
+import org.varukha.deliveryservice.model.enums.CountMode;
+import org.varukha.deliveryservice.model.enums.CursorOrder;
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
 import org.varukha.deliveryservice.repository.CargoRepository;
 import org.varukha.deliveryservice.repository.filter.impl.CargoSpecificationBuilder;
+import org.varukha.deliveryservice.service.CargoCountService;
 import org.varukha.deliveryservice.service.CargoService;
 import org.varukha.deliveryservice.service.VehicleService;
+import org.varukha.deliveryservice.util.pagination.CargoCursor;
 
 /**
  * Service class for managing cargo operations.
@@ -35,10 +47,12 @@ import org.varukha.deliveryservice.service.VehicleService;
 @RequiredArgsConstructor
 public class CargoServiceImpl implements CargoService {
     private static final Logger LOGGER = LogManager.getLogger(CargoServiceImpl.class);
+    private static final String VEHICLE_ATTRIBUTE = "vehicle";
 
     private final CargoMapper cargoMapper;
     private final CargoRepository cargoRepository;
     private final VehicleService vehicleService;
+    private final CargoCountService cargoCountService;
     private final CargoSpecificationBuilder specificationBuilder;
     private final KafkaProducerService kafkaProducerService;
     private final ObjectMapper objectMapper;
@@ -114,42 +128,161 @@ public class CargoServiceImpl implements CargoService {
 
     /**
      * Retrieves a paginated and filtered list of cargo entities.
+     * The vehicles of the cargos are fetched with the page, so a page takes one query
+     * for its content and at most one for its count, whatever its size. Unless the exact
+     * count is requested, the page is read as a slice and the total comes from the count
+     * cache or the planner estimate, or is left out.
      *
      * @param pageable            Pagination information.
      * @param searchParametersDto Parameters for filtering cargo entities.
+     * @param countMode           How the total pages are computed.
      * @return The paginated list of cargo DTOs.
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public CargoListResponseDto getPaginatedFilteredList(
-            Pageable pageable, CargoSearchRequestDto searchParametersDto) {
+            Pageable pageable, CargoSearchRequestDto searchParametersDto, CountMode countMode) {
         Specification<Cargo> cargoSpecification = specificationBuilder.build(searchParametersDto);
-        Page<Cargo> cargoPage = cargoRepository.findAll(cargoSpecification, pageable);
-        List<CargoSearchResponseDto> cargoDtoList = cargoPage.getContent()
-                .stream()
-                .map(cargoMapper::toCargoSearchResponseDto)
-                .toList();
+        if (countMode == CountMode.EXACT) {
+            Page<Cargo> cargoPage = cargoRepository.findAll(cargoSpecification, pageable);
+            return new CargoListResponseDto(
+                    toSearchResponseDtos(cargoPage.getContent()),
+                    cargoPage.getNumber() + 1,
+                    cargoPage.getTotalPages());
+        }
+        Slice<Cargo> cargoSlice = cargoRepository.findSlice(cargoSpecification, pageable);
+        int pageNumber = cargoSlice.getNumber() + 1;
+        Integer totalPages = switch (countMode) {
+            case CACHED -> totalPages(
+                    cargoCountService.getCachedCount(searchParametersDto), pageable);
+            case ESTIMATED -> Math.max(cargoSlice.hasNext() ? pageNumber + 1 : pageNumber,
+                    totalPages(cargoCountService.estimateCount(searchParametersDto), pageable));
+            default -> null;
+        };
         return new CargoListResponseDto(
-                cargoDtoList,
-                cargoPage.getNumber() + 1,
-                cargoPage.getTotalPages());
+                toSearchResponseDtos(cargoSlice.getContent()),
+                pageNumber,
+                totalPages,
+                cargoSlice.hasNext(),
+                countMode == CountMode.ESTIMATED);
     }
 
     /**
-     * Retrieves a filtered list of cargo entities.
+     * Retrieves a page of filtered cargo entities following a cursor. One cargo more than
+     * the page size is read to tell whether another page follows, and the vehicles of the
+     * cargos are fetched in the same query.
      *
      * @param searchParametersDto Parameters for filtering cargo entities.
-     * @return The filtered list of cargo DTOs.
+     * @param order               The key the pages are ordered by.
+     * @param cursor              The token returned with the previous page, or null for
+     *                            the first page.
+     * @param size                The maximum number of cargos in the page.
+     * @return The page of cargo DTOs with the token of the next page.
+     * @throws InvalidCursorException if the cursor is invalid or was issued for
+     *                                another order.
      */
     @Override
-    public List<CargoResponseDto> getFilteredList(CargoSearchRequestDto searchParametersDto) {
+    @Transactional(readOnly = true)
+    public CargoCursorPageResponseDto getCursorPage(CargoSearchRequestDto searchParametersDto,
+                                                    CursorOrder order,
+                                                    String cursor,
+                                                    int size) {
+        if (size < 1) {
+            throw new InvalidCursorException("Page size must be positive: " + size);
+        }
         Specification<Cargo> cargoSpecification = specificationBuilder.build(searchParametersDto);
-        return cargoRepository.findAll(cargoSpecification)
-                .stream()
-                .map(cargoMapper::toCargoResponseDto)
+        if (cursor != null && !cursor.isEmpty()) {
+            CargoCursor position = CargoCursor.decode(cursor);
+            if (position.order() != order) {
+                throw new InvalidCursorException("Cursor was issued for the order "
+                        + position.order() + ", not " + order);
+            }
+            cargoSpecification = cargoSpecification.and(after(position));
+        }
+        List<Cargo> cargos = cargoRepository.findBy(cargoSpecification, query -> query
+                .project(VEHICLE_ATTRIBUTE)
+                .sortBy(sortOf(order))
+                .limit(size + 1)
+                .all());
+        boolean hasNext = cargos.size() > size;
+        List<Cargo> page = hasNext ? cargos.subList(0, size) : cargos;
+        String nextCursor = null;
+        if (hasNext) {
+            Cargo last = page.get(size - 1);
+            nextCursor = CargoCursor.after(order, last.getStatus(), last.getId()).encode();
+        }
+        return new CargoCursorPageResponseDto(toSearchResponseDtos(page), nextCursor);
+    }
+
+    /**
+     * Passes the report rows of the filtered cargo entities to the consumer, in ID order.
+     *
+     * @param searchParametersDto Parameters for filtering cargo entities.
+     * @param rowConsumer         The consumer invoked with every row, inside the transaction.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachReportRow(CargoSearchRequestDto searchParametersDto,
+                                 Consumer<CargoReportRowDto> rowConsumer) {
+        Specification<Cargo> cargoSpecification = specificationBuilder.build(searchParametersDto);
+        try (Stream<CargoReportRowDto> rows =
+                     cargoRepository.streamReportRows(cargoSpecification)) {
+            rows.forEach(rowConsumer);
+        }
+    }
+
+    /**
+     * Maps the cargos of a page to search response DTOs.
+     *
+     * @param cargos The cargos of the page, with their vehicles loaded.
+     * @return The cargo search response DTOs.
+     */
+    private List<CargoSearchResponseDto> toSearchResponseDtos(List<Cargo> cargos) {
+        return cargos.stream()
+                .map(cargoMapper::toCargoSearchResponseDto)
                 .toList();
     }
 
+    /**
+     * Computes the number of pages holding the given number of cargos.
+     *
+     * @param count    The number of cargos.
+     * @param pageable Pagination information.
+     * @return The number of pages.
+     */
+    private int totalPages(long count, Pageable pageable) {
+        return (int) ((count + pageable.getPageSize() - 1) / pageable.getPageSize());
+    }
+
+    /**
+     * Builds the sort matching the page key.
+     *
+     * @param order The key the pages are ordered by.
+     * @return The ascending sort on the key columns.
+     */
+    private Sort sortOf(CursorOrder order) {
+        return order == CursorOrder.STATUS_ID ? Sort.by("status", "id") : Sort.by("id");
+    }
+
+    /**
+     * Builds the predicate selecting the cargos positioned after the cursor,
+     * compared on the key columns as a row value.
+     *
+     * @param position The position after the last cargo of the previous page.
+     * @return The specification seeking past the position.
+     */
+    private Specification<Cargo> after(CargoCursor position) {
+        return (root, query, cb) -> {
+            if (position.order() == CursorOrder.ID) {
+                return cb.greaterThan(root.<Long>get("id"), position.id());
+            }
+            return cb.or(
+                    cb.greaterThan(root.<DeliveryStatus>get("status"), position.status()),
+                    cb.and(cb.equal(root.get("status"), position.status()),
+                            cb.greaterThan(root.<Long>get("id"), position.id())));
+        };
+    }
+
     /**
      * Creates a new Cargo entity from the request DTO.
      *
@@ -0,0 +1,310 @@
+package org.varukha.deliveryservice.service.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.varukha.deliveryservice.dto.cargo.CargoSearchRequestDto;
+import org.varukha.deliveryservice.dto.report.ReportJobResponseDto;
+import org.varukha.deliveryservice.exception.EntityNotFoundException;
+import org.varukha.deliveryservice.exception.ReportNotReadyException;
+import org.varukha.deliveryservice.mapper.ReportJobMapper;
+import org.varukha.deliveryservice.model.enums.ReportStatus;
+import org.varukha.deliveryservice.repository.CargoRepository;
+import org.varukha.deliveryservice.service.CargoExcelReportService;
+import org.varukha.deliveryservice.service.ReportJobService;
+import org.varukha.deliveryservice.service.report.ReportJob;
+import org.varukha.deliveryservice.util.io.ContentHash;
+import org.varukha.deliveryservice.util.io.RangeFileSender;
+
+/**
+ * Service class generating cargo reports in the background into a local report store.
+ * Reports are keyed by their normalized filter and the version of the cargo data, which
+ * grows with every change to cargos or vehicles, so identical requests reuse the stored
+ * file until the data changes. A change committed while a report is read may be missed
+ * by a report keyed with the version it produced; the store age limit bounds how long
+ * such a report is served. Stored reports are evicted when they exceed the age limit
+ * and, least recently requested first, while the store exceeds its size limit.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+    private static final Logger LOGGER = LogManager.getLogger(ReportJobServiceImpl.class);
+    private static final MediaType XLSX = MediaType.parseMediaType(
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    private static final String REPORT_FILE_EXTENSION = ".xlsx";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final String REPORT_NAME = "cargos_report.xlsx";
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> jobsByKey = new HashMap<>();
+    private final CargoExcelReportService excelReportService;
+    private final CargoRepository cargoRepository;
+    private final ThreadPoolTaskExecutor reportJobExecutor;
+    private final ReportJobMapper reportJobMapper;
+    private final Path storeDirectory;
+    private final long storeMaxBytes;
+    private final Duration storeMaxAge;
+
+    /**
+     * Creates the service and removes the report files left in the store by earlier runs.
+     *
+     * @param excelReportService The service writing the reports
+     * @param cargoRepository    The repository providing the cargo data version
+     * @param reportJobExecutor  The executor generating the reports
+     * @param reportJobMapper    The mapper converting report jobs to DTOs
+     * @param storeDirectory     The directory the reports are stored in
+     * @param storeMaxSize       The total size of stored reports to evict down to
+     * @param storeMaxAge        The time a stored report is served for
+     * @throws UncheckedIOException if the store directory cannot be prepared
+     */
+    public ReportJobServiceImpl(
+            CargoExcelReportService excelReportService,
+            CargoRepository cargoRepository,
+            ThreadPoolTaskExecutor reportJobExecutor,
+            ReportJobMapper reportJobMapper,
+            @Value("${cargo.report.store-dir:${java.io.tmpdir}/cargo-reports}")
+            Path storeDirectory,
+            @Value("${cargo.report.store-max-size:1GB}") DataSize storeMaxSize,
+            @Value("${cargo.report.store-max-age:PT24H}") Duration storeMaxAge) {
+        this.excelReportService = excelReportService;
+        this.cargoRepository = cargoRepository;
+        this.reportJobExecutor = reportJobExecutor;
+        this.reportJobMapper = reportJobMapper;
+        this.storeDirectory = storeDirectory;
+        this.storeMaxBytes = storeMaxSize.toBytes();
+        this.storeMaxAge = storeMaxAge;
+        clearStore();
+    }
+
+    /**
+     * Starts generating a report for the search parameters, or returns the job of an
+     * identical report if one is running or stored for the current data version.
+     *
+     * @param searchParameters The search parameters to filter the cargo data
+     * @return The report job response DTO
+     */
+    @Override
+    public ReportJobResponseDto startReport(CargoSearchRequestDto searchParameters) {
+        String filter = normalizeFilter(searchParameters);
+        long dataVersion = cargoRepository.getDataVersion();
+        String key = ContentHash.sha256Hex(filter + "@" + dataVersion);
+        ReportJob job;
+        synchronized (jobsByKey) {
+            evictReports();
+            job = jobsByKey.get(key);
+            if (job != null && job.isReusable()) {
+                return reportJobMapper.toDto(job);
+            }
+            job = new ReportJob(UUID.randomUUID().toString(), key, filter, dataVersion,
+                    storeDirectory.resolve(key + REPORT_FILE_EXTENSION));
+            jobsByKey.put(key, job);
+            jobs.put(job.getId(), job);
+        }
+        ReportJob createdJob = job;
+        reportJobExecutor.execute(() -> generateReport(createdJob, searchParameters));
+        return reportJobMapper.toDto(job);
+    }
+
+    /**
+     * Retrieves the current state of a report job.
+     *
+     * @param jobId The ID of the report job
+     * @return The report job response DTO
+     * @throws EntityNotFoundException if the report job with the specified ID is not found.
+     */
+    @Override
+    public ReportJobResponseDto getById(String jobId) {
+        return reportJobMapper.toDto(findJob(jobId));
+    }
+
+    /**
+     * Sends the report file of a completed job, or the byte range of it the request asks for.
+     *
+     * @param jobId    The ID of the report job
+     * @param request  The current request
+     * @param response The response to write the report to
+     * @throws IOException if the report cannot be sent
+     * @throws EntityNotFoundException if the report job with the specified ID is not found.
+     * @throws ReportNotReadyException if the report job has not completed.
+     */
+    @Override
+    public void sendReport(String jobId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportStatus.COMPLETED) {
+            throw new ReportNotReadyException("Report job " + jobId + " is "
+                    + job.getStatus().name().toLowerCase(Locale.ROOT));
+        }
+        job.touch();
+        RangeFileSender.send(job.getFile(), "\"" + job.getKey() + "\"", job.getFinishedAt(),
+                XLSX, REPORT_NAME, request, response);
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Can't find report job by ID: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Writes the report of a job to a temporary file and moves it into place when complete,
+     * so a stored report file is never partial.
+     *
+     * @param job              The job to run
+     * @param searchParameters The search parameters to filter the cargo data
+     */
+    private void generateReport(ReportJob job, CargoSearchRequestDto searchParameters) {
+        job.start();
+        Path tempFile = storeDirectory.resolve(job.getId() + TEMP_FILE_EXTENSION);
+        try {
+            Files.createDirectories(storeDirectory);
+            try (OutputStream outputStream =
+                         new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                excelReportService.writeExcelReport(searchParameters, outputStream);
+            }
+            Files.move(tempFile, job.getFile(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            job.complete(Files.size(job.getFile()));
+            LOGGER.info("Report {} for filter {} stored: {} bytes",
+                    job.getId(), job.getFilter(), job.getSizeBytes());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Error generating report {}: {}", job.getId(), e.getMessage());
+            deleteQuietly(tempFile);
+            job.fail(e.getMessage());
+        }
+        synchronized (jobsByKey) {
+            evictReports();
+        }
+    }
+
+    /**
+     * Builds the normalized filter of the search parameters. The values of the multi-valued
+     * parameters are only deduplicated and sorted, as their order does not change the
+     * matching cargos, and are otherwise kept exactly as the report query matches them.
+     * Blank single-valued parameters are left out like the specification builder does,
+     * and the description text is lower-cased, as it matches ignoring case.
+     *
+     * @param searchParameters The search parameters to normalize
+     * @return The normalized filter
+     */
+    private String normalizeFilter(CargoSearchRequestDto searchParameters) {
+        return "status=" + normalizeValues(searchParameters.status())
+                + ";type=" + normalizeValues(searchParameters.type())
+                + ";minWeight=" + Objects.toString(searchParameters.minWeight(), "")
+                + ";maxWeight=" + Objects.toString(searchParameters.maxWeight(), "")
+                + ";routeFrom=" + normalizeValues(searchParameters.routeFrom())
+                + ";routeTo=" + normalizeValues(searchParameters.routeTo())
+                + ";vehicleNumber=" + normalizeText(searchParameters.vehicleNumber())
+                + ";description=" + normalizeText(searchParameters.description())
+                        .toLowerCase(Locale.ROOT);
+    }
+
+    private String normalizeValues(String[] values) {
+        if (values == null) {
+            return "";
+        }
+        return Arrays.stream(values)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private String normalizeText(String value) {
+        return value == null || value.isBlank() ? "" : value;
+    }
+
+    /**
+     * Removes reports of older data versions once a newer report with the same filter is
+     * stored, finished jobs older than the age limit, and then the least recently requested
+     * reports while the store exceeds its size limit. Must hold the lock of jobsByKey.
+     */
+    private void evictReports() {
+        Instant expiration = Instant.now().minus(storeMaxAge);
+        Map<String, Long> latestVersions = jobs.values().stream()
+                .filter(job -> job.getStatus() == ReportStatus.COMPLETED)
+                .collect(Collectors.toMap(ReportJob::getFilter, ReportJob::getDataVersion,
+                        Math::max));
+        for (ReportJob job : List.copyOf(jobs.values())) {
+            boolean superseded = job.getFinishedAt() != null
+                    && job.getDataVersion() < latestVersions.getOrDefault(job.getFilter(),
+                    Long.MIN_VALUE);
+            boolean expired = job.getFinishedAt() != null
+                    && job.getFinishedAt().isBefore(expiration);
+            if (superseded || expired) {
+                removeJob(job);
+            }
+        }
+        List<ReportJob> storedReports = jobs.values().stream()
+                .filter(job -> job.getStatus() == ReportStatus.COMPLETED)
+                .sorted(Comparator.comparing(ReportJob::getLastAccessedAt))
+                .toList();
+        long storedBytes = storedReports.stream().mapToLong(ReportJob::getSizeBytes).sum();
+        for (ReportJob job : storedReports) {
+            if (storedBytes <= storeMaxBytes) {
+                break;
+            }
+            storedBytes -= job.getSizeBytes();
+            removeJob(job);
+        }
+    }
+
+    private void removeJob(ReportJob job) {
+        jobs.remove(job.getId());
+        jobsByKey.remove(job.getKey(), job);
+        if (job.getStatus() == ReportStatus.COMPLETED) {
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    /**
+     * Deletes the report and temporary files left in the store directory.
+     */
+    private void clearStore() {
+        if (!Files.isDirectory(storeDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            files.filter(file -> file.toString().endsWith(REPORT_FILE_EXTENSION)
+                            || file.toString().endsWith(TEMP_FILE_EXTENSION))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't clear the report store " + storeDirectory, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Can't delete report file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.util.concurrent.CompletableFuture;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+import org.varukha.deliveryservice.service.io.job.ImportVehicleCache;
+
+/**
+ * Service for importing the cargo files packed in a ZIP archive.
+ */
+public interface CargoArchiveImportService {
+    /**
+     * Reads an archive entry by entry and imports every cargo file it contains.
+     *
+     * @param source       The archive to import
+     * @param job          The import job the archive belongs to
+     * @param progress     The progress entry of the archive, shared by all its entries
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     * @return A future completed when every entry of the archive is imported
+     */
+    CompletableFuture<Void> importArchive(ImportSource source,
+                                          ImportJob job,
+                                          ImportFileProgress progress,
+                                          ImportVehicleCache vehicleCache);
+}
@@ -0,0 +1,80 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+import org.varukha.deliveryservice.service.io.job.ImportVehicleCache;
+
+/**
+ * Service for importing the cargos of a single file, or a part of a file, chunk by chunk
+ * with the persistence strategy of its import job.
+ */
+public interface CargoChunkImportService {
+    /**
+     * Opens the checkpoint of content for an import job. Jobs started to resume their files
+     * continue from the existing checkpoint, and the records it committed before are counted
+     * as skipped; other jobs restart the checkpoint. The fingerprint only samples the
+     * content, so content whose import completed is skipped only if its full hash matches
+     * the hash recorded on completion; otherwise it is imported again from the start.
+     *
+     * @param sourceKey   The fingerprint identifying the content
+     * @param name        The name of the content, used in logs
+     * @param job         The import job the content belongs to
+     * @param progress    The progress entry updated with the skipped records
+     * @param contentHash Hashes the whole content, only called if its import completed before
+     * @return the checkpoint to import the content with, or an empty Optional if the import
+     *         of the content completed before and the content must be skipped
+     * @throws IOException if the content cannot be hashed
+     */
+    Optional<ImportCheckpoint> openCheckpoint(String sourceKey,
+                                              String name,
+                                              ImportJob job,
+                                              ImportFileProgress progress,
+                                              ContentHashSupplier contentHash)
+            throws IOException;
+
+    /**
+     * Imports content with the persistence strategy of a checkpointed job, skipping
+     * the chunks already committed under its checkpoint. The content is hashed while it is
+     * read, and the hash is recorded when the checkpoint completes.
+     *
+     * @param inputStream  The JSON content, closed when the import completes
+     * @param name         The name of the content, used in logs and error messages
+     * @param checkpoint   The checkpoint of the content
+     * @param job          The import job the content belongs to
+     * @param progress     The progress entry updated with the import statistics
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     */
+    void importChunks(InputStream inputStream,
+                      String name,
+                      ImportCheckpoint checkpoint,
+                      ImportJob job,
+                      ImportFileProgress progress,
+                      ImportVehicleCache vehicleCache);
+
+    /**
+     * Upserts content chunk by chunk, for upsert jobs, which don't checkpoint.
+     *
+     * @param inputStream  The JSON content
+     * @param name         The name of the content, used in logs and error messages
+     * @param job          The import job the content belongs to
+     * @param progress     The progress entry updated with the import statistics
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     */
+    void upsertChunks(InputStream inputStream,
+                      String name,
+                      ImportJob job,
+                      ImportFileProgress progress,
+                      ImportVehicleCache vehicleCache);
+
+    /**
+     * Computes the hash of the whole content of an import source.
+     */
+    @FunctionalInterface
+    interface ContentHashSupplier {
+        String hash() throws IOException;
+    }
+}
@@ -0,0 +1,19 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.io.InputStream;
+import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+
+/**
+ * Service for bulk loading cargo data through the PostgreSQL COPY protocol.
+ */
+public interface CargoCopyLoadService {
+    /**
+     * Streams the cargos of a JSON file into a staging table with COPY
+     * and merges them into the cargo table in a single transaction.
+     *
+     * @param inputStream the JSON content to load, closed when loading completes
+     * @param fileName    the name of the file, used in logs and error messages
+     * @return DataProcessingResponseDto containing import statistics for the file
+     */
+    DataProcessingResponseDto loadFile(InputStream inputStream, String fileName);
+}
@@ -0,0 +1,83 @@
+package org.varukha.deliveryservice.service.io;
+
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.Vehicle;
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
+
+/**
+ * A flat, immutable cargo as decoded from an import file. Unlike the Cargo entity,
+ * it carries only the vehicle number instead of a nested Vehicle and keeps the weight
+ * as a primitive, so decoding a record allocates little beyond its strings.
+ *
+ * @param vehicleNumber The number of the cargo vehicle, or null if missing
+ * @param description   The cargo description, or null if missing
+ * @param weight        The cargo weight, or {@link #MISSING_WEIGHT} if missing
+ * @param status        The delivery status, or null if missing or unknown
+ * @param unknownStatus The status text that matches no delivery status,
+ *                      or null if the status is missing or known
+ */
+public record CargoImportRecord(
+        String vehicleNumber,
+        String description,
+        double weight,
+        DeliveryStatus status,
+        String unknownStatus) {
+    public static final double MISSING_WEIGHT = Double.NaN;
+
+    /**
+     * Creates a record whose status is missing or known.
+     *
+     * @param vehicleNumber The number of the cargo vehicle, or null if missing
+     * @param description   The cargo description, or null if missing
+     * @param weight        The cargo weight, or {@link #MISSING_WEIGHT} if missing
+     * @param status        The delivery status, or null if missing
+     */
+    public CargoImportRecord(String vehicleNumber,
+                             String description,
+                             double weight,
+                             DeliveryStatus status) {
+        this(vehicleNumber, description, weight, status, null);
+    }
+
+    /**
+     * Checks whether the file named a status that matches no delivery status.
+     *
+     * @return true if the status was present but unknown
+     */
+    public boolean hasUnknownStatus() {
+        return unknownStatus != null;
+    }
+
+    /**
+     * Checks whether the record has a weight.
+     *
+     * @return true if the weight was present in the file
+     */
+    public boolean hasWeight() {
+        return !Double.isNaN(weight);
+    }
+
+    /**
+     * Checks whether all cargo columns apart from the vehicle are present.
+     *
+     * @return true if the description, weight and status are present
+     */
+    public boolean hasRequiredFields() {
+        return description != null && hasWeight() && status != null;
+    }
+
+    /**
+     * Creates a new Cargo entity from the record.
+     *
+     * @param vehicle The persisted vehicle the cargo belongs to
+     * @return the cargo entity to save
+     */
+    public Cargo toCargo(Vehicle vehicle) {
+        Cargo cargo = new Cargo();
+        cargo.setVehicle(vehicle);
+        cargo.setDescription(description);
+        cargo.setWeight(weight);
+        cargo.setStatus(status);
+        return cargo;
+    }
+}
@@ -0,0 +1,20 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.util.List;
+import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.model.Cargo;
+
+/**
+ * Service for inserting or updating cargos identified by their natural key.
+ */
+public interface CargoUpsertService {
+    /**
+     * Inserts the cargos, or updates the cargos already saved with the same natural key.
+     * The natural keys of the cargos must be set and distinct.
+     *
+     * @param cargos The cargos to save
+     * @return DataProcessingResponseDto containing the number of inserted, updated
+     *         and unchanged cargos
+     */
+    DataProcessingResponseDto upsert(List<Cargo> cargos);
+}
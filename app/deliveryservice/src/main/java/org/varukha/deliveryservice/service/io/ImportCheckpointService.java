@@ -0,0 +1,87 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+
+/**
+ * Service for durable checkpoints of imported files, which make imports resumable.
+ */
+public interface ImportCheckpointService {
+    /**
+     * Opens the checkpoint of a file to resume its import, creating it on the first import
+     * of the file. An existing checkpoint keeps the chunk size it was created with, so a
+     * resumed import cuts the file into the same chunks as the interrupted one.
+     *
+     * @param sourceKey The fingerprint identifying the file
+     * @param fileName  The name of the file
+     * @param chunkSize The chunk size used for a new checkpoint
+     * @return the checkpoint of the file
+     */
+    ImportCheckpoint open(String sourceKey, String fileName, int chunkSize);
+
+    /**
+     * Opens the checkpoint of a file for an import starting from the beginning of the file.
+     * The chunks and statistics recorded by earlier imports of the file are dropped.
+     *
+     * @param sourceKey The fingerprint identifying the file
+     * @param fileName  The name of the file
+     * @param chunkSize The chunk size of the import
+     * @return the checkpoint of the file, without committed chunks
+     */
+    ImportCheckpoint restart(String sourceKey, String fileName, int chunkSize);
+
+    /**
+     * Retrieves the chunks of a file whose cargos are already committed.
+     *
+     * @param checkpoint The checkpoint of the file
+     * @return the indexes of the committed chunks
+     */
+    BitSet findCommittedChunks(ImportCheckpoint checkpoint);
+
+    /**
+     * Saves the cargos of a chunk and records the chunk as committed, in one transaction.
+     *
+     * @param checkpoint    The checkpoint of the file
+     * @param chunkIndex    The index of the chunk within the file
+     * @param cargos        The valid cargos of the chunk
+     * @param failedImports The number of rejected cargos of the chunk
+     */
+    void saveChunk(ImportCheckpoint checkpoint, int chunkIndex, List<Cargo> cargos,
+                   int failedImports);
+
+    /**
+     * Checks whether a chunk of a file is committed.
+     *
+     * @param checkpoint The checkpoint of the file
+     * @param chunkIndex The index of the chunk within the file
+     * @return true if the cargos of the chunk are committed
+     */
+    boolean isChunkCommitted(ImportCheckpoint checkpoint, int chunkIndex);
+
+    /**
+     * Saves the cargos of a chunk one by one, rejecting only the cargos the database
+     * refuses, and records the chunk as committed together with the accepted cargos.
+     * Used when saving the chunk as a whole failed.
+     *
+     * @param checkpoint    The checkpoint of the file
+     * @param chunkIndex    The index of the chunk within the file
+     * @param cargos        The valid cargos of the chunk
+     * @param failedImports The number of cargos of the chunk rejected before saving
+     * @return the reason every refused cargo was rejected, by its position in the list
+     */
+    Map<Integer, String> saveChunkRowByRow(ImportCheckpoint checkpoint, int chunkIndex,
+                                           List<Cargo> cargos, int failedImports);
+
+    /**
+     * Marks the import of a file as completed and drops its chunk records.
+     *
+     * @param checkpoint    The checkpoint of the file
+     * @param successful    The number of cargos saved outside of recorded chunks
+     * @param failed        The number of cargos rejected outside of recorded chunks
+     * @param contentHash   The hash of the whole content of the file
+     */
+    void complete(ImportCheckpoint checkpoint, long successful, long failed, String contentHash);
+}
@@ -0,0 +1,14 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.util.List;
+
+/**
+ * A chunk of consecutive cargo records of an import file.
+ *
+ * @param index   The position of the chunk within the file, starting at zero
+ * @param records The decoded records of the chunk
+ */
+public record ImportChunk(
+        int index,
+        List<CargoImportRecord> records) {
+}
@@ -0,0 +1,45 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.util.List;
+import org.springframework.core.io.Resource;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+
+/**
+ * Service for registering import jobs and reporting their progress.
+ */
+public interface ImportJobService {
+    /**
+     * Registers a new running import job for the given sources.
+     *
+     * @param mode    The strategy used to persist the parsed cargos
+     * @param resume  Whether files imported before resume from their checkpoints
+     * @param sources The sources imported by the job
+     * @return The registered import job
+     */
+    ImportJob createJob(ImportMode mode, boolean resume, List<ImportSource> sources);
+
+    /**
+     * Retrieves the current state of an import job.
+     *
+     * @param jobId The ID of the import job
+     * @return The import job response DTO
+     */
+    ImportJobResponseDto getById(String jobId);
+
+    /**
+     * Retrieves the records rejected by an import job so far.
+     *
+     * @param jobId The ID of the import job
+     * @return The NDJSON rejection report, one rejected record per line
+     */
+    Resource getRejectionReport(String jobId);
+
+    /**
+     * Retrieves the current state of all retained import jobs.
+     *
+     * @return A list of import job response DTOs
+     */
+    List<ImportJobResponseDto> getAll();
+}
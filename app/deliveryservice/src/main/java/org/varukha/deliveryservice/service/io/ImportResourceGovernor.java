@@ -0,0 +1,37 @@
+package org.varukha.deliveryservice.service.io;
+
+/**
+ * Service limiting the database resources bulk imports may use at once, so imports
+ * leave room for interactive API traffic. Every acquired permit must be released.
+ */
+public interface ImportResourceGovernor {
+    /**
+     * Acquires a permit for a write batch handed over to the import writers,
+     * blocking while the maximum number of batches of all imports is in flight.
+     */
+    void acquireBatch();
+
+    /**
+     * Releases a permit acquired by acquireBatch once the batch is written.
+     */
+    void releaseBatch();
+
+    /**
+     * Acquires a permit for a database connection used by an import, blocking while
+     * imports use as many connections as the current limit allows. The limit adapts
+     * to the latency of interactive requests.
+     */
+    void acquireConnection();
+
+    /**
+     * Releases a permit acquired by acquireConnection.
+     */
+    void releaseConnection();
+
+    /**
+     * Records the latency of an interactive request, which drives the connection limit.
+     *
+     * @param nanos The duration of the request in nanoseconds
+     */
+    void recordInteractiveLatency(long nanos);
+}
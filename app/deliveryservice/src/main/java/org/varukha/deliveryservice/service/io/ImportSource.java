@@ -0,0 +1,155 @@
+package org.varukha.deliveryservice.service.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.web.multipart.MultipartFile;
+import org.varukha.deliveryservice.util.io.ByteRange;
+import org.varukha.deliveryservice.util.io.ContentHash;
+import org.varukha.deliveryservice.util.io.LineRangeSplitter;
+import org.varukha.deliveryservice.util.io.MappedFileInputStream;
+
+/**
+ * A named source of cargo data that can be opened as a stream by the import pipeline.
+ *
+ * @param name           The name of the source, used in logs and progress reports
+ * @param size           The size of the source in bytes, or -1 if unknown
+ * @param streamSupplier Opens a new stream over the source content
+ * @param path           The local file holding the whole source, or null if there is none
+ */
+public record ImportSource(
+        String name,
+        long size,
+        StreamSupplier streamSupplier,
+        Path path) {
+    private static final List<String> LINE_DELIMITED_EXTENSIONS = List.of(".ndjson", ".jsonl");
+    private static final List<String> CARGO_FILE_EXTENSIONS = List.of(
+            ".json", ".ndjson", ".jsonl", ".json.gz", ".ndjson.gz", ".jsonl.gz");
+    private static final String ARCHIVE_EXTENSION = ".zip";
+    private static final int FINGERPRINT_SAMPLE_SIZE = 64 * 1024;
+
+    /**
+     * Opens a new stream over the source content.
+     *
+     * @return the input stream
+     * @throws IOException if the source cannot be opened
+     */
+    public InputStream openStream() throws IOException {
+        return streamSupplier.open();
+    }
+
+    /**
+     * Computes the identity of the source from its name, its size and its first and last
+     * 64 KB, so that a large file is identified without reading it as a whole. Ranges of
+     * a file are named after their offset and sampled within the range, so every range
+     * has its own identity. A source of unknown size is hashed as a whole.
+     *
+     * @return the hex-encoded fingerprint of the source
+     * @throws IOException if the source cannot be read
+     */
+    public String fingerprint() throws IOException {
+        String contentHash = size < 0
+                ? ContentHash.sha256Hex(openStream())
+                : ContentHash.sampledSha256Hex(openStream(), size, FINGERPRINT_SAMPLE_SIZE);
+        return ContentHash.sha256Hex(name.length() + ":" + name + contentHash);
+    }
+
+    /**
+     * Splits an uncompressed newline-delimited source stored in a local file into
+     * sources covering line-aligned byte ranges, which can be parsed in parallel.
+     * Any other source, and one not larger than the target size, is returned as is.
+     *
+     * @param targetSize the preferred size of a range in bytes
+     * @return the sources to import instead of this one
+     * @throws IOException if the file cannot be read
+     */
+    public List<ImportSource> splitByLines(long targetSize) throws IOException {
+        if (path == null || size <= targetSize || !isLineDelimited()) {
+            return List.of(this);
+        }
+        return LineRangeSplitter.split(path, targetSize).stream()
+                .map(this::rangeSource)
+                .toList();
+    }
+
+    /**
+     * Creates a source reading a single range of this source's file. The range is named
+     * after the file and its start offset, so record indexes reported for the range,
+     * which count from the start of the range, can be traced back to the file.
+     *
+     * @param range the range to read
+     * @return the import source
+     */
+    private ImportSource rangeSource(ByteRange range) {
+        return new ImportSource(name + "@" + range.start(), range.length(),
+                () -> new MappedFileInputStream(path, range), null);
+    }
+
+    /**
+     * Checks whether the source name denotes uncompressed newline-delimited JSON.
+     *
+     * @return true if the content holds one JSON object per line
+     */
+    private boolean isLineDelimited() {
+        return hasExtension(name, LINE_DELIMITED_EXTENSIONS);
+    }
+
+    /**
+     * Checks whether the source is a ZIP archive of cargo files.
+     *
+     * @return true if the source name has the ZIP extension
+     */
+    public boolean isArchive() {
+        return hasExtension(name, List.of(ARCHIVE_EXTENSION));
+    }
+
+    /**
+     * Checks whether a file name denotes a format the cargo reader accepts.
+     *
+     * @param fileName the file name to check, may be null
+     * @return true for JSON and NDJSON files, plain or gzip-compressed
+     */
+    public static boolean isCargoFileName(String fileName) {
+        return hasExtension(fileName, CARGO_FILE_EXTENSIONS);
+    }
+
+    private static boolean hasExtension(String fileName, List<String> extensions) {
+        String lowerCaseName = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return extensions.stream().anyMatch(lowerCaseName::endsWith);
+    }
+
+    /**
+     * Creates a source reading an uploaded multipart file.
+     *
+     * @param file the uploaded file
+     * @return the import source
+     */
+    public static ImportSource of(MultipartFile file) {
+        return new ImportSource(
+                file.getOriginalFilename(), file.getSize(), file::getInputStream, null);
+    }
+
+    /**
+     * Creates a source reading a file on the local file system through memory-mapped regions.
+     *
+     * @param name the name reported for the source
+     * @param path the path of the file
+     * @return the import source
+     * @throws IOException if the file size cannot be read
+     */
+    public static ImportSource of(String name, Path path) throws IOException {
+        return new ImportSource(
+                name, Files.size(path), () -> new MappedFileInputStream(path), path);
+    }
+
+    /**
+     * Opens an input stream over the content of a source.
+     */
+    @FunctionalInterface
+    public interface StreamSupplier {
+        InputStream open() throws IOException;
+    }
+}
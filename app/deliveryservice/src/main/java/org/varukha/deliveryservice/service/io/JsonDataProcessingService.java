@@ -3,6 +3,8 @@ package org.varukha.deliveryservice.service.io;
 import java.util.List;
 import org.springframework.web.multipart.MultipartFile;
 import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.model.enums.ImportMode;
 
 /**
  * Service for uploading JSON files and processing them.
@@ -12,7 +14,34 @@ public interface JsonDataProcessingService {
      * Uploads JSON files and processes them, returning a response DTO.
      *
      * @param files List of Multipart files containing JSON data
+     * @param mode  The strategy used to persist the parsed cargos
      * @return DataProcessingResponseDto containing import statistics
      */
-    DataProcessingResponseDto uploadFromJson(List<MultipartFile> files);
+    DataProcessingResponseDto uploadFromJson(List<MultipartFile> files, ImportMode mode);
+
+    /**
+     * Starts an asynchronous import job for JSON files and returns without waiting for it.
+     *
+     * @param files  List of Multipart files containing JSON data
+     * @param mode   The strategy used to persist the parsed cargos
+     * @param resume Whether files imported before resume from their checkpoints
+     * @return ImportJobResponseDto describing the started job
+     */
+    ImportJobResponseDto startImport(List<MultipartFile> files, ImportMode mode, boolean resume);
+
+    /**
+     * Starts an asynchronous import job for JSON files already stored on the server.
+     * The files are read directly from disk through memory-mapped regions.
+     *
+     * @param directory The directory to import, relative to the configured import root
+     * @param glob      The glob selecting files by their path relative to the directory,
+     *                  or null to select every supported file directly in the directory
+     * @param mode      The strategy used to persist the parsed cargos
+     * @param resume    Whether files imported before resume from their checkpoints
+     * @return ImportJobResponseDto describing the started job
+     */
+    ImportJobResponseDto startServerImport(String directory,
+                                           String glob,
+                                           ImportMode mode,
+                                           boolean resume);
 }
@@ -1,19 +1,48 @@
 package org.varukha.deliveryservice.service.io;
 
+import java.io.InputStream;
 import java.util.List;
-import org.springframework.web.multipart.MultipartFile;
-import org.varukha.deliveryservice.model.Cargo;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
 /**
  * Service for reading JSON files and loading cargo data.
  */
 public interface JsonReaderService {
     /**
-     * Loads JSON file into a list of Cargo objects.
+     * Streams a JSON file and hands the decoded cargo records over in fixed-size chunks,
+     * so only one chunk of records is held in memory at a time. The content may be
+     * a JSON array or newline-delimited JSON, either of them optionally gzip-compressed.
      *
-     * @param file the JSON file to parse
-     * @return a list of Cargo objects parsed from the JSON file
+     * @param inputStream   the JSON or NDJSON content to parse, optionally gzip-compressed,
+     *                      closed when reading completes
+     * @param fileName      the name of the file, used in error messages
+     * @param chunkSize     the maximum number of records passed to the consumer at once
+     * @param chunkConsumer the consumer invoked for every parsed chunk
      * @throws RuntimeException if the specified file is not a valid JSON file
      */
-    List<Cargo> loadJsonFile(MultipartFile file);
+    void readJsonFile(InputStream inputStream,
+                      String fileName,
+                      int chunkSize,
+                      Consumer<List<CargoImportRecord>> chunkConsumer);
+
+    /**
+     * Streams a JSON file and hands the decoded cargo records over in numbered chunks.
+     * Chunk boundaries depend only on the chunk size, so the same file is always cut
+     * into the same chunks. The records of skipped chunks are passed over without being
+     * decoded, which lets an interrupted import resume after its committed chunks.
+     *
+     * @param inputStream   the JSON or NDJSON content to parse, optionally gzip-compressed,
+     *                      closed when reading completes
+     * @param fileName      the name of the file, used in error messages
+     * @param chunkSize     the number of records in every chunk but the last
+     * @param skipChunk     tests whether the chunk with the given index is skipped
+     * @param chunkConsumer the consumer invoked for every chunk that is not skipped
+     * @throws RuntimeException if the specified file is not a valid JSON file
+     */
+    void readJsonFile(InputStream inputStream,
+                      String fileName,
+                      int chunkSize,
+                      IntPredicate skipChunk,
+                      Consumer<ImportChunk> chunkConsumer);
 }
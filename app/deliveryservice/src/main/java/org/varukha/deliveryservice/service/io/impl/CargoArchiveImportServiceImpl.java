@@ -0,0 +1,212 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+import org.varukha.deliveryservice.service.io.CargoArchiveImportService;
+import org.varukha.deliveryservice.service.io.CargoChunkImportService;
+import org.varukha.deliveryservice.service.io.ImportSource;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+import org.varukha.deliveryservice.service.io.job.ImportVehicleCache;
+import org.varukha.deliveryservice.util.io.ContentHash;
+import org.varukha.deliveryservice.util.io.CountingInputStream;
+import org.varukha.deliveryservice.util.io.ReplayableContent;
+
+/**
+ * Service class importing ZIP archives of cargo files. Entries are decompressed
+ * one by one while the archive is read, and every cargo file is imported
+ * by CargoChunkImportService without being written to disk.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class CargoArchiveImportServiceImpl implements CargoArchiveImportService {
+    private static final String ARCHIVE_METADATA_DIRECTORY = "__MACOSX/";
+
+    private final CargoChunkImportService cargoChunkImportService;
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+
+    @Value("${cargo.import.max-buffered-entries:16}")
+    private int maxBufferedEntries;
+
+    @Value("${cargo.import.max-buffered-entry-size:8MB}")
+    private DataSize maxBufferedEntrySize;
+
+    /**
+     * Reads a ZIP archive entry by entry and dispatches every cargo file to the import
+     * executor as soon as it is decompressed, so no entry is written to disk.
+     * Small entries are buffered in memory and imported by other workers, with the number
+     * of buffered entries bounded per archive. Entries over the buffer limit, and entries
+     * arriving while the executor or the buffer is full, are imported by the reading
+     * thread itself, which keeps memory bounded and cannot deadlock the executor.
+     * The checkpoint of every entry is keyed by the fingerprint of the archive and the entry
+     * name, so entries are checkpointed without hashing each of them. The sampled tail of
+     * an archive holds its central directory, with the checksum of every entry, so the
+     * fingerprint changes with any entry. Upsert jobs don't checkpoint.
+     *
+     * @param source       The archive to import
+     * @param job          The import job the archive belongs to
+     * @param progress     The progress entry of the archive, shared by all its entries
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     * @return A future completed when every dispatched entry is imported
+     */
+    @Override
+    public CompletableFuture<Void> importArchive(ImportSource source,
+                                                 ImportJob job,
+                                                 ImportFileProgress progress,
+                                                 ImportVehicleCache vehicleCache) {
+        progress.start();
+        List<CompletableFuture<Void>> entries = new ArrayList<>();
+        Semaphore bufferedEntries = new Semaphore(maxBufferedEntries);
+        try {
+            String archiveKey = job.isCheckpointed() ? source.fingerprint() : null;
+            try (ZipInputStream archive = new ZipInputStream(new CountingInputStream(
+                    source.openStream(), progress::addBytesProcessed))) {
+                ZipEntry entry;
+                while ((entry = archive.getNextEntry()) != null) {
+                    if (isImportableEntry(entry)) {
+                        String entryName = source.name() + "!/" + entry.getName();
+                        String entryKey = archiveKey == null
+                                ? null
+                                : ContentHash.sha256Hex(archiveKey + "!/" + entry.getName());
+                        entries.add(dispatchEntry(archive, entryName, bufferedEntries,
+                                entryStream -> importEntry(entryStream, entryName, entryKey,
+                                        job, progress, vehicleCache)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            entries.add(CompletableFuture.failedFuture(new UncheckedIOException(
+                    "Error reading archive " + source.name() + ": " + e.getMessage(), e)));
+        }
+        return CompletableFuture.allOf(entries.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Dispatches the current entry of an archive.
+     *
+     * @param archive         The archive positioned at the entry
+     * @param entryName       The name of the entry, used in logs and error messages
+     * @param bufferedEntries Permits for entries buffered in memory but not yet imported
+     * @param entryImporter   Imports the content of the entry
+     * @return A future completed when the entry is imported
+     * @throws IOException if the entry cannot be read
+     */
+    private CompletableFuture<Void> dispatchEntry(ZipInputStream archive,
+                                                  String entryName,
+                                                  Semaphore bufferedEntries,
+                                                  Consumer<InputStream> entryImporter)
+            throws IOException {
+        int bufferLimit = (int) maxBufferedEntrySize.toBytes();
+        byte[] head = archive.readNBytes(bufferLimit + 1);
+        if (head.length > bufferLimit) {
+            InputStream entryStream = new SequenceInputStream(
+                    new ByteArrayInputStream(head), StreamUtils.nonClosing(archive));
+            return importInline(entryStream, entryImporter);
+        }
+        if (bufferedEntries.tryAcquire()) {
+            try {
+                return CompletableFuture.runAsync(
+                                () -> entryImporter.accept(new ByteArrayInputStream(head)),
+                                importTaskExecutor)
+                        .whenComplete((result, error) -> bufferedEntries.release());
+            } catch (RejectedExecutionException e) {
+                bufferedEntries.release();
+                log.warn("Import executor is saturated, importing entry {} inline", entryName);
+            }
+        }
+        return importInline(new ByteArrayInputStream(head), entryImporter);
+    }
+
+    /**
+     * Imports an archive entry on the calling thread.
+     *
+     * @param entryStream   The content of the entry
+     * @param entryImporter Imports the content of the entry
+     * @return A future already completed with the outcome of the import
+     */
+    private CompletableFuture<Void> importInline(InputStream entryStream,
+                                                 Consumer<InputStream> entryImporter) {
+        try {
+            entryImporter.accept(entryStream);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Imports a single archive entry, naming the entry in any error. The entry can only be
+     * read once, so an entry whose import completed before is hashed from memory if it was
+     * buffered, or spooled to a temporary file while it is hashed, in case it changed and
+     * must be imported again.
+     *
+     * @param entryStream  The content of the entry
+     * @param entryName    The name of the entry
+     * @param entryKey     The key of the entry checkpoint, null for upsert jobs
+     * @param job          The import job the archive belongs to
+     * @param progress     The progress entry of the archive
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     * @throws DataProcessingException if the entry cannot be imported
+     */
+    private void importEntry(InputStream entryStream,
+                             String entryName,
+                             String entryKey,
+                             ImportJob job,
+                             ImportFileProgress progress,
+                             ImportVehicleCache vehicleCache) {
+        try (ReplayableContent content = new ReplayableContent(entryStream)) {
+            if (!job.isCheckpointed()) {
+                cargoChunkImportService.upsertChunks(
+                        content.getInputStream(), entryName, job, progress, vehicleCache);
+                return;
+            }
+            Optional<ImportCheckpoint> checkpoint = cargoChunkImportService.openCheckpoint(
+                    entryKey, entryName, job, progress, content::sha256Hex);
+            if (checkpoint.isPresent()) {
+                cargoChunkImportService.importChunks(content.getInputStream(), entryName,
+                        checkpoint.get(), job, progress, vehicleCache);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new DataProcessingException(
+                    "Error importing " + entryName + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks whether an archive entry is a cargo file. Directories, hidden files
+     * and metadata added by archivers are skipped.
+     *
+     * @param entry The archive entry
+     * @return true if the entry should be imported
+     */
+    private boolean isImportableEntry(ZipEntry entry) {
+        String entryName = entry.getName();
+        String baseName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return !entry.isDirectory()
+                && !entryName.startsWith(ARCHIVE_METADATA_DIRECTORY)
+                && !baseName.startsWith(".")
+                && ImportSource.isCargoFileName(baseName);
+    }
+}
@@ -0,0 +1,448 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+import org.varukha.deliveryservice.model.Vehicle;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+import org.varukha.deliveryservice.service.CargoNaturalKeyService;
+import org.varukha.deliveryservice.service.io.CargoChunkImportService;
+import org.varukha.deliveryservice.service.io.CargoCopyLoadService;
+import org.varukha.deliveryservice.service.io.CargoImportRecord;
+import org.varukha.deliveryservice.service.io.CargoUpsertService;
+import org.varukha.deliveryservice.service.io.ImportCheckpointService;
+import org.varukha.deliveryservice.service.io.ImportChunk;
+import org.varukha.deliveryservice.service.io.ImportResourceGovernor;
+import org.varukha.deliveryservice.service.io.JsonReaderService;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+import org.varukha.deliveryservice.service.io.job.ImportVehicleCache;
+import org.varukha.deliveryservice.util.io.HashingInputStream;
+
+/**
+ * Service class importing the cargos of a file chunk by chunk. The calling thread parses
+ * the file and the chunks are validated and saved on the writer executor, either with
+ * their checkpoint, or upserted by their natural key for upsert jobs. Every rejected
+ * record is written to the rejection report of the job.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class CargoChunkImportServiceImpl implements CargoChunkImportService {
+    private final JsonReaderService jsonReaderService;
+    private final CargoCopyLoadService cargoCopyLoadService;
+    private final CargoUpsertService cargoUpsertService;
+    private final CargoNaturalKeyService cargoNaturalKeyService;
+    private final ImportCheckpointService importCheckpointService;
+    private final ThreadPoolTaskExecutor importWriterExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportResourceGovernor importResourceGovernor;
+
+    @Value("${cargo.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${cargo.import.max-pending-chunks:8}")
+    private int maxPendingChunks;
+
+    @Override
+    public Optional<ImportCheckpoint> openCheckpoint(String sourceKey,
+                                                     String name,
+                                                     ImportJob job,
+                                                     ImportFileProgress progress,
+                                                     ContentHashSupplier contentHash)
+            throws IOException {
+        if (!job.isResume()) {
+            return Optional.of(importCheckpointService.restart(sourceKey, name, chunkSize));
+        }
+        ImportCheckpoint checkpoint = importCheckpointService.open(sourceKey, name, chunkSize);
+        long committedRecords = checkpoint.getSuccessfulImports() + checkpoint.getFailedImports();
+        if (checkpoint.getStatus() == ImportStatus.COMPLETED) {
+            if (checkpoint.getContentHash() == null
+                    || !checkpoint.getContentHash().equals(contentHash.hash())) {
+                log.info("File {} differs from the file imported under its fingerprint,"
+                        + " importing it again", name);
+                return Optional.of(importCheckpointService.restart(sourceKey, name, chunkSize));
+            }
+            progress.addUpserts(0, committedRecords);
+            log.info("File {} was already imported, skipping its {} records",
+                    name, committedRecords);
+            return Optional.empty();
+        }
+        progress.addUpserts(0, committedRecords);
+        if (committedRecords > 0) {
+            log.info("Resuming import of file {} after {} committed records",
+                    name, committedRecords);
+        }
+        return Optional.of(checkpoint);
+    }
+
+    /**
+     * Imports the content of a stream with the persistence strategy of the job.
+     * COPY loads the content and completes its checkpoint in one transaction, so a COPY
+     * import is never partially committed, and holds one import connection permit while
+     * it runs. Content with chunks already committed by an earlier batch import is resumed
+     * in batch mode, whatever the mode of the job. The content is hashed as it is read, and
+     * its hash is recorded with the completed checkpoint.
+     *
+     * @param inputStream  The JSON content, closed when the import completes
+     * @param name         The name of the content, used in logs and error messages
+     * @param checkpoint   The checkpoint of the content
+     * @param job          The import job the content belongs to
+     * @param progress     The progress entry updated with the import statistics
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     * @throws UncheckedIOException if the content cannot be read
+     */
+    @Override
+    public void importChunks(InputStream inputStream,
+                             String name,
+                             ImportCheckpoint checkpoint,
+                             ImportJob job,
+                             ImportFileProgress progress,
+                             ImportVehicleCache vehicleCache) {
+        try (HashingInputStream content = new HashingInputStream(inputStream)) {
+            if (job.getMode() == ImportMode.COPY && !hasCommittedImports(checkpoint)) {
+                DataProcessingResponseDto result;
+                importResourceGovernor.acquireConnection();
+                try {
+                    result = transactionTemplate.execute(status -> {
+                        DataProcessingResponseDto loaded = cargoCopyLoadService.loadFile(
+                                StreamUtils.nonClosing(content), name);
+                        importCheckpointService.complete(checkpoint, loaded.successfulImports(),
+                                loaded.failedImports(), finishHash(content));
+                        return loaded;
+                    });
+                } finally {
+                    importResourceGovernor.releaseConnection();
+                }
+                progress.addImports(result.successfulImports(), result.failedImports());
+            } else {
+                processFile(content, name, checkpoint, job, progress, vehicleCache);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean hasCommittedImports(ImportCheckpoint checkpoint) {
+        return checkpoint.getSuccessfulImports() + checkpoint.getFailedImports() > 0;
+    }
+
+    private String finishHash(HashingInputStream content) {
+        try {
+            return content.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams a single file through the reader and persists it chunk by chunk.
+     * The calling thread only parses; the chunks are saved concurrently by the writer
+     * executor, so one large file can use several threads and database connections.
+     * Chunks committed by an earlier import of the file are skipped without being decoded;
+     * the checkpoint fixes the chunk size, so the chunk indexes match the earlier import.
+     *
+     * @param content      The JSON content of the file, hashed as it is read
+     * @param fileName     The name of the file
+     * @param checkpoint   The checkpoint of the file
+     * @param job          The import job collecting the stage metrics and rejected records
+     * @param progress     The progress entry updated after every chunk
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     */
+    private void processFile(HashingInputStream content,
+                             String fileName,
+                             ImportCheckpoint checkpoint,
+                             ImportJob job,
+                             ImportFileProgress progress,
+                             ImportVehicleCache vehicleCache) {
+        BitSet committedChunks = importCheckpointService.findCommittedChunks(checkpoint);
+        CargoChunkPipeline pipeline = new CargoChunkPipeline(
+                importWriterExecutor,
+                chunk -> {
+                    DataProcessingResponseDto chunkResult =
+                            processCargoList(chunk, fileName, checkpoint, job, vehicleCache);
+                    progress.addImports(
+                            chunkResult.successfulImports(), chunkResult.failedImports());
+                },
+                importResourceGovernor,
+                maxPendingChunks,
+                job.getParseStage(),
+                job.getWriteStage());
+        try {
+            jsonReaderService.readJsonFile(StreamUtils.nonClosing(content), fileName,
+                    checkpoint.getChunkSize(), committedChunks::get, pipeline::submit);
+        } finally {
+            pipeline.drain();
+        }
+        pipeline.throwIfFailed();
+        importCheckpointService.complete(checkpoint, 0, 0, finishHash(content));
+    }
+
+    /**
+     * Streams a single file through the reader and upserts it chunk by chunk,
+     * on the writer executor like processFile.
+     *
+     * @param inputStream  The JSON content of the file
+     * @param fileName     The name of the file
+     * @param job          The import job collecting the stage metrics and rejected records
+     * @param progress     The progress entry updated after every chunk
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     */
+    @Override
+    public void upsertChunks(InputStream inputStream,
+                             String fileName,
+                             ImportJob job,
+                             ImportFileProgress progress,
+                             ImportVehicleCache vehicleCache) {
+        CargoChunkPipeline pipeline = new CargoChunkPipeline(
+                importWriterExecutor,
+                chunk -> {
+                    DataProcessingResponseDto chunkResult =
+                            upsertCargoList(chunk, fileName, job, vehicleCache);
+                    progress.addImports(
+                            chunkResult.successfulImports(), chunkResult.failedImports());
+                    progress.addUpserts(
+                            chunkResult.updatedImports(), chunkResult.skippedImports());
+                },
+                importResourceGovernor,
+                maxPendingChunks,
+                job.getParseStage(),
+                job.getWriteStage());
+        try {
+            jsonReaderService.readJsonFile(inputStream, fileName, chunkSize,
+                    chunkIndex -> false, pipeline::submit);
+        } finally {
+            pipeline.drain();
+        }
+        pipeline.throwIfFailed();
+    }
+
+    /**
+     * Processes the cargo list, saving cargo data to the database and returning a response DTO.
+     * Valid cargos of the list are saved with a single saveAll call, so Hibernate can send
+     * them to the database as JDBC batches instead of one statement per cargo.
+     * The chunk is recorded in the checkpoint of the file in the same transaction.
+     * The vehicle of every cargo is resolved by its vehicle number, cargos with a missing
+     * or unknown vehicle, or without a description, weight or status, are counted as
+     * failed imports. Entities are only created for the cargos that are saved.
+     * If the database refuses the chunk as a whole, it is saved again row by row, so only
+     * the cargos the database refuses are rejected. Every rejected cargo is written to the
+     * rejection report of the job.
+     *
+     * @param chunk        The chunk of decoded cargo records to process
+     * @param fileName     The name of the file the chunk belongs to
+     * @param checkpoint   The checkpoint of the file
+     * @param job          The import job collecting the rejected records
+     * @param vehicleCache Vehicle lookup used to resolve the cargo vehicles
+     * @return DataProcessingResponseDto containing import statistics
+     * @throws DataProcessingException if the chunk can't be saved even row by row
+     */
+    private DataProcessingResponseDto processCargoList(ImportChunk chunk,
+                                                       String fileName,
+                                                       ImportCheckpoint checkpoint,
+                                                       ImportJob job,
+                                                       ImportVehicleCache vehicleCache) {
+        List<Cargo> validCargos = new ArrayList<>(chunk.records().size());
+        List<Long> validRecordIndexes = new ArrayList<>(chunk.records().size());
+        int failedImports = validateCargoList(chunk, checkpoint.getChunkSize(), fileName, job,
+                vehicleCache, validCargos, validRecordIndexes);
+        try {
+            importCheckpointService.saveChunk(
+                    checkpoint, chunk.index(), validCargos, failedImports);
+            log.info("Cargo chunk saved successfully: {} cargos", validCargos.size());
+            return new DataProcessingResponseDto(validCargos.size(), failedImports);
+        } catch (RuntimeException e) {
+            if (importCheckpointService.isChunkCommitted(checkpoint, chunk.index())) {
+                log.warn("Chunk {} of file {} was committed by another import, skipping it",
+                        chunk.index(), fileName);
+                return new DataProcessingResponseDto(0, 0);
+            }
+            log.warn("Error saving chunk {} of file {}, saving it row by row: {}",
+                    chunk.index(), fileName, e.getMessage());
+        }
+        Map<Integer, String> rejections;
+        try {
+            rejections = importCheckpointService.saveChunkRowByRow(
+                    checkpoint, chunk.index(), validCargos, failedImports);
+        } catch (RuntimeException e) {
+            String errorMessage = "Error saving cargo data: " + e.getMessage();
+            log.error(errorMessage);
+            throw new DataProcessingException(errorMessage, e);
+        }
+        rejections.forEach((position, reason) ->
+                rejectRecord(job, fileName, validRecordIndexes.get(position), reason));
+        log.info("Cargo chunk saved row by row: {} cargos, {} rejected by the database",
+                validCargos.size() - rejections.size(), rejections.size());
+        return new DataProcessingResponseDto(validCargos.size() - rejections.size(),
+                failedImports + rejections.size());
+    }
+
+    /**
+     * Upserts the cargo list and returns a response DTO. Records whose natural key the job
+     * already committed, or an earlier record of the chunk has, are skipped without touching
+     * the database; the others are upserted with a single statement. If the database
+     * refuses the statement, the cargos are upserted one by one and only the refused ones
+     * are rejected. Keys are recorded in the job only once their cargo is committed.
+     *
+     * @param chunk        The chunk of decoded cargo records to process
+     * @param fileName     The name of the file the chunk belongs to
+     * @param job          The import job collecting the natural keys and rejected records
+     * @param vehicleCache Vehicle lookup used to resolve the cargo vehicles
+     * @return DataProcessingResponseDto containing the number of inserted, rejected,
+     *         updated and skipped cargos
+     */
+    private DataProcessingResponseDto upsertCargoList(ImportChunk chunk,
+                                                      String fileName,
+                                                      ImportJob job,
+                                                      ImportVehicleCache vehicleCache) {
+        List<Cargo> validCargos = new ArrayList<>(chunk.records().size());
+        List<Long> validRecordIndexes = new ArrayList<>(chunk.records().size());
+        final int failedImports = validateCargoList(chunk, chunkSize, fileName, job, vehicleCache,
+                validCargos, validRecordIndexes);
+        List<Cargo> cargos = new ArrayList<>(validCargos.size());
+        List<Long> recordIndexes = new ArrayList<>(validCargos.size());
+        Set<UUID> chunkKeys = new HashSet<>();
+        int duplicates = 0;
+        for (int i = 0; i < validCargos.size(); i++) {
+            UUID naturalKey = cargoNaturalKeyService.naturalKey(validCargos.get(i));
+            validCargos.get(i).setNaturalKey(naturalKey);
+            if (!job.getUpsertKeys().contains(naturalKey) && chunkKeys.add(naturalKey)) {
+                cargos.add(validCargos.get(i));
+                recordIndexes.add(validRecordIndexes.get(i));
+            } else {
+                duplicates++;
+            }
+        }
+        DataProcessingResponseDto result;
+        try {
+            result = cargoUpsertService.upsert(cargos);
+            cargos.forEach(cargo -> job.getUpsertKeys().add(cargo.getNaturalKey()));
+        } catch (RuntimeException e) {
+            log.warn("Error upserting chunk {} of file {}, upserting it row by row: {}",
+                    chunk.index(), fileName, e.getMessage());
+            result = upsertRowByRow(cargos, recordIndexes, fileName, job);
+        }
+        log.info("Cargo chunk upserted: {} inserted, {} updated, {} skipped",
+                result.successfulImports(), result.updatedImports(),
+                result.skippedImports() + duplicates);
+        return new DataProcessingResponseDto(result.successfulImports(),
+                failedImports + result.failedImports(), result.updatedImports(),
+                result.skippedImports() + duplicates);
+    }
+
+    /**
+     * Upserts cargos one by one, rejecting the cargos the database refuses.
+     *
+     * @param cargos        The cargos to upsert
+     * @param recordIndexes The indexes of the cargo records within the file
+     * @param fileName      The name of the file the cargos belong to
+     * @param job           The import job collecting the rejected records
+     * @return DataProcessingResponseDto containing the number of inserted, rejected,
+     *         updated and unchanged cargos
+     */
+    private DataProcessingResponseDto upsertRowByRow(List<Cargo> cargos,
+                                                     List<Long> recordIndexes,
+                                                     String fileName,
+                                                     ImportJob job) {
+        int inserted = 0;
+        int failed = 0;
+        int updated = 0;
+        int unchanged = 0;
+        for (int i = 0; i < cargos.size(); i++) {
+            try {
+                DataProcessingResponseDto result = cargoUpsertService.upsert(
+                        List.of(cargos.get(i)));
+                job.getUpsertKeys().add(cargos.get(i).getNaturalKey());
+                inserted += result.successfulImports();
+                updated += result.updatedImports();
+                unchanged += result.skippedImports();
+            } catch (DataAccessException e) {
+                rejectRecord(job, fileName, recordIndexes.get(i),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                failed++;
+            }
+        }
+        return new DataProcessingResponseDto(inserted, failed, updated, unchanged);
+    }
+
+    /**
+     * Resolves the vehicles of a chunk and converts its complete records to cargos.
+     * Cargos with a missing or unknown vehicle, an unknown status, or without a description,
+     * weight or status, are rejected.
+     *
+     * @param chunk              The chunk of decoded cargo records
+     * @param chunkSize          The number of records in every chunk of the file but the last
+     * @param fileName           The name of the file the chunk belongs to
+     * @param job                The import job collecting the rejected records
+     * @param vehicleCache       Vehicle lookup used to resolve the cargo vehicles
+     * @param validCargos        Receives the cargos of the valid records
+     * @param validRecordIndexes Receives the indexes of the valid records within the file
+     * @return the number of rejected records
+     */
+    private int validateCargoList(ImportChunk chunk,
+                                  int chunkSize,
+                                  String fileName,
+                                  ImportJob job,
+                                  ImportVehicleCache vehicleCache,
+                                  List<Cargo> validCargos,
+                                  List<Long> validRecordIndexes) {
+        long firstRecordIndex = (long) chunk.index() * chunkSize;
+        int failedImports = 0;
+        for (int i = 0; i < chunk.records().size(); i++) {
+            CargoImportRecord cargoRecord = chunk.records().get(i);
+            Optional<Vehicle> vehicle = vehicleCache.resolve(cargoRecord.vehicleNumber());
+            if (vehicle.isEmpty()) {
+                rejectRecord(job, fileName, firstRecordIndex + i,
+                        "Cargo's vehicle is null or unknown");
+                failedImports++;
+            } else if (cargoRecord.hasUnknownStatus()) {
+                rejectRecord(job, fileName, firstRecordIndex + i,
+                        "Cargo's status " + cargoRecord.unknownStatus() + " is unknown");
+                failedImports++;
+            } else if (!cargoRecord.hasRequiredFields()) {
+                rejectRecord(job, fileName, firstRecordIndex + i,
+                        "Cargo's description, weight or status is null");
+                failedImports++;
+            } else {
+                validCargos.add(cargoRecord.toCargo(vehicle.get()));
+                validRecordIndexes.add(firstRecordIndex + i);
+            }
+        }
+        return failedImports;
+    }
+
+    /**
+     * Logs a rejected cargo record and adds it to the rejection report of the job.
+     *
+     * @param job         The import job the record belongs to
+     * @param fileName    The name of the file the record was read from
+     * @param recordIndex The zero-based index of the record within the file
+     * @param reason      The reason the record was rejected
+     */
+    private void rejectRecord(ImportJob job, String fileName, long recordIndex, String reason) {
+        log.warn("{}. Skipping saving cargo {} of file {}.", reason, recordIndex, fileName);
+        job.getRejectionReport().reject(fileName, recordIndex, reason);
+    }
+}
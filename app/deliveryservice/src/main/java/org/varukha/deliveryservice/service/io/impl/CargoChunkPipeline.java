@@ -0,0 +1,144 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.service.io.ImportChunk;
+import org.varukha.deliveryservice.service.io.ImportResourceGovernor;
+import org.varukha.deliveryservice.service.io.job.ImportStageMetrics;
+
+/**
+ * Pipeline between the parser of a single file and a pool of writer threads.
+ * The parser thread submits chunks, which are persisted concurrently by the writer
+ * executor. At most a fixed number of chunks may be pending at once; when the limit
+ * is reached the parser blocks until a writer finishes, which bounds memory use.
+ * Chunks also take a write batch permit and, while written, a connection permit
+ * from the import governor, which bounds the database load of all imports together.
+ * The first writer failure stops the pipeline and is rethrown to the parser.
+ */
+public class CargoChunkPipeline {
+    private final Executor writerExecutor;
+    private final Consumer<ImportChunk> chunkWriter;
+    private final ImportResourceGovernor governor;
+    private final int maxPendingChunks;
+    private final Semaphore pendingChunks;
+    private final ImportStageMetrics parseStage;
+    private final ImportStageMetrics writeStage;
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private long parseStartNanos = System.nanoTime();
+
+    /**
+     * Creates a pipeline for one file.
+     *
+     * @param writerExecutor   The executor running the writer workers
+     * @param chunkWriter      Persists a single chunk
+     * @param governor         The governor limiting the database load of all imports
+     * @param maxPendingChunks The maximum number of chunks submitted but not yet written
+     * @param parseStage       The metrics of the parser stage
+     * @param writeStage       The metrics of the writer stage
+     */
+    public CargoChunkPipeline(Executor writerExecutor,
+                              Consumer<ImportChunk> chunkWriter,
+                              ImportResourceGovernor governor,
+                              int maxPendingChunks,
+                              ImportStageMetrics parseStage,
+                              ImportStageMetrics writeStage) {
+        this.writerExecutor = writerExecutor;
+        this.chunkWriter = chunkWriter;
+        this.governor = governor;
+        this.maxPendingChunks = maxPendingChunks;
+        this.pendingChunks = new Semaphore(maxPendingChunks);
+        this.parseStage = parseStage;
+        this.writeStage = writeStage;
+    }
+
+    /**
+     * Hands a parsed chunk over to the writers, blocking while the pipeline is full.
+     * Must be called from the single parser thread of the pipeline.
+     *
+     * @param chunk The parsed cargo records
+     * @throws DataProcessingException if a writer failed or the parser was interrupted
+     */
+    public void submit(ImportChunk chunk) {
+        long submitNanos = System.nanoTime();
+        parseStage.recordBusy(chunk.records().size(), submitNanos - parseStartNanos);
+        throwIfFailed();
+        acquire(1);
+        try {
+            governor.acquireBatch();
+        } catch (RuntimeException e) {
+            pendingChunks.release();
+            throw e;
+        }
+        parseStage.recordWait(System.nanoTime() - submitNanos);
+        long queuedNanos = System.nanoTime();
+        try {
+            writerExecutor.execute(() -> write(chunk, queuedNanos));
+        } catch (RejectedExecutionException e) {
+            governor.releaseBatch();
+            pendingChunks.release();
+            throw e;
+        }
+        parseStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits until every submitted chunk is written, without reporting writer failures.
+     *
+     * @throws DataProcessingException if the parser was interrupted
+     */
+    public void drain() {
+        acquire(maxPendingChunks);
+        pendingChunks.release(maxPendingChunks);
+    }
+
+    /**
+     * Rethrows the first writer failure, if any.
+     *
+     * @throws DataProcessingException if a writer failed
+     */
+    public void throwIfFailed() {
+        RuntimeException writerFailure = failure.get();
+        if (writerFailure != null) {
+            throw new DataProcessingException(
+                    "Error writing cargo chunk: " + writerFailure.getMessage(), writerFailure);
+        }
+    }
+
+    private void write(ImportChunk chunk, long queuedNanos) {
+        long startNanos = System.nanoTime();
+        writeStage.recordWait(startNanos - queuedNanos);
+        try {
+            if (failure.get() == null) {
+                writeWithConnectionPermit(chunk);
+                writeStage.recordBusy(chunk.records().size(), System.nanoTime() - startNanos);
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            governor.releaseBatch();
+            pendingChunks.release();
+        }
+    }
+
+    private void writeWithConnectionPermit(ImportChunk chunk) {
+        governor.acquireConnection();
+        try {
+            chunkWriter.accept(chunk);
+        } finally {
+            governor.releaseConnection();
+        }
+    }
+
+    private void acquire(int permits) {
+        try {
+            pendingChunks.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataProcessingException("Import interrupted while waiting for writers", e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.service.io.CargoCopyLoadService;
+import org.varukha.deliveryservice.service.io.CargoImportRecord;
+import org.varukha.deliveryservice.service.io.JsonReaderService;
+
+/**
+ * Service class for bulk loading cargo data through the PostgreSQL COPY protocol.
+ * Parsed cargos are streamed into a temporary staging table and then merged into
+ * the cargo table with one set-based statement that also resolves vehicles in SQL.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class CargoCopyLoadServiceImpl implements CargoCopyLoadService {
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE cargo_staging (
+                vehicle_number VARCHAR(255),
+                description VARCHAR(255),
+                weight DOUBLE PRECISION,
+                status VARCHAR(255)
+            ) ON COMMIT DROP""";
+    private static final String COPY_TO_STAGING = "COPY cargo_staging "
+            + "(vehicle_number, description, weight, status) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    /**
+     * Merges the staging rows into the cargo table. IDs are reserved from cargo_id_seq
+     * in blocks of 50, matching the pooled allocation size of the Cargo entity, so the
+     * merged rows never collide with IDs handed out by Hibernate.
+     */
+    private static final String MERGE_STAGING = """
+            WITH resolved AS (
+                SELECT row_number() OVER () - 1 AS row_index, v.id AS vehicle_id,
+                       s.description, s.weight, s.status
+                FROM cargo_staging s
+                JOIN vehicle v ON v.number = s.vehicle_number
+                WHERE s.description IS NOT NULL
+                  AND s.weight IS NOT NULL
+                  AND s.status IS NOT NULL
+            ),
+            id_blocks AS (
+                SELECT row_number() OVER () - 1 AS block_index,
+                       nextval('cargo_id_seq') AS block_end
+                FROM generate_series(1, CEIL((SELECT COUNT(*) FROM resolved) / 50.0)::INTEGER)
+            ),
+            inserted AS (
+                INSERT INTO cargo (id, vehicle_id, description, weight, status)
+                SELECT b.block_end - 49 + r.row_index % 50,
+                       r.vehicle_id, r.description, r.weight, r.status
+                FROM resolved r
+                JOIN id_blocks b ON b.block_index = r.row_index / 50
+                RETURNING 1
+            )
+            SELECT COUNT(*) FROM inserted""";
+
+    private final JsonReaderService jsonReaderService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${cargo.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Streams the cargos of a JSON file into a staging table with COPY
+     * and merges them into the cargo table in a single transaction.
+     *
+     * @param inputStream the JSON content to load, closed when loading completes
+     * @param fileName    the name of the file, used in logs and error messages
+     * @return DataProcessingResponseDto containing import statistics for the file
+     */
+    @Override
+    @Transactional
+    public DataProcessingResponseDto loadFile(InputStream inputStream, String fileName) {
+        return jdbcTemplate.execute((ConnectionCallback<DataProcessingResponseDto>)
+                connection -> loadFile(inputStream, fileName, connection));
+    }
+
+    /**
+     * Copies the file into the staging table on the given connection and merges it.
+     *
+     * @param inputStream the JSON content to load
+     * @param fileName    the name of the file, used in logs and error messages
+     * @param connection  the transactional connection to use
+     * @return DataProcessingResponseDto containing import statistics for the file
+     * @throws SQLException if a database error occurs
+     */
+    private DataProcessingResponseDto loadFile(InputStream inputStream,
+                                               String fileName,
+                                               Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+        AtomicInteger rejectedImports = new AtomicInteger();
+        CopyIn copyIn = connection.unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn(COPY_TO_STAGING);
+        long stagedRows;
+        try {
+            jsonReaderService.readJsonFile(inputStream, fileName, chunkSize, chunk ->
+                    rejectedImports.addAndGet(writeChunk(copyIn, chunk)));
+            stagedRows = copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        long mergedRows = mergeStagingTable(connection);
+        int failedImports = rejectedImports.get() + (int) (stagedRows - mergedRows);
+        log.info("File {} bulk loaded: {} cargos staged, {} merged",
+                fileName, stagedRows, mergedRows);
+        return new DataProcessingResponseDto((int) mergedRows, failedImports);
+    }
+
+    /**
+     * Writes a chunk of cargo records to the COPY stream as CSV rows.
+     *
+     * @param copyIn the active COPY operation
+     * @param chunk  the cargo records to write
+     * @return the number of cargos rejected before staging
+     */
+    private int writeChunk(CopyIn copyIn, List<CargoImportRecord> chunk) {
+        StringBuilder csv = new StringBuilder(chunk.size() * 64);
+        int rejected = 0;
+        for (CargoImportRecord cargo : chunk) {
+            if (cargo.vehicleNumber() == null) {
+                log.warn("Cargo's vehicle is null. Skipping saving cargo data.");
+                rejected++;
+                continue;
+            }
+            if (cargo.hasUnknownStatus()) {
+                log.warn("Cargo's status {} is unknown. Skipping saving cargo data.",
+                        cargo.unknownStatus());
+                rejected++;
+                continue;
+            }
+            appendCsvRow(csv, cargo);
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new DataProcessingException("Error copying cargo data: " + e.getMessage(), e);
+        }
+        return rejected;
+    }
+
+    /**
+     * Appends a cargo record as a CSV row matching the staging table columns.
+     *
+     * @param csv   the builder to append to
+     * @param cargo the cargo record to append
+     */
+    private void appendCsvRow(StringBuilder csv, CargoImportRecord cargo) {
+        appendCsvText(csv, cargo.vehicleNumber()).append(',');
+        appendCsvText(csv, cargo.description()).append(',');
+        if (cargo.hasWeight()) {
+            csv.append(cargo.weight());
+        }
+        csv.append(',');
+        appendCsvText(csv, cargo.status() == null ? null : cargo.status().name())
+                .append('\n');
+    }
+
+    /**
+     * Appends a single CSV text value, quoted so that an unquoted empty value means NULL.
+     *
+     * @param csv  the builder to append to
+     * @param text the value to append, may be null
+     * @return the builder
+     */
+    private StringBuilder appendCsvText(StringBuilder csv, String text) {
+        if (text == null) {
+            return csv;
+        }
+        return csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Merges the staging table into the cargo table.
+     *
+     * @param connection the transactional connection to use
+     * @return the number of merged cargos
+     * @throws SQLException if a database error occurs
+     */
+    private long mergeStagingTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(MERGE_STAGING)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
+import org.varukha.deliveryservice.service.io.CargoImportRecord;
+
+/**
+ * Streaming deserializer decoding a cargo object straight into a CargoImportRecord.
+ * It reads the tokens of the object directly, keeps only the vehicle number of the
+ * nested vehicle and skips every other field without building it.
+ * An unknown status doesn't fail the file; the record keeps the status text instead,
+ * so the import rejects that record alone.
+ */
+public class CargoImportRecordDeserializer extends StdDeserializer<CargoImportRecord> {
+    private static final String VEHICLE_FIELD = "vehicle";
+    private static final String VEHICLE_NUMBER_FIELD = "vehicleNumber";
+    private static final String DESCRIPTION_FIELD = "description";
+    private static final String WEIGHT_FIELD = "weight";
+    private static final String STATUS_FIELD = "status";
+
+    public CargoImportRecordDeserializer() {
+        super(CargoImportRecord.class);
+    }
+
+    @Override
+    public CargoImportRecord deserialize(JsonParser parser, DeserializationContext context)
+            throws IOException {
+        String field;
+        if (parser.isExpectedStartObjectToken()) {
+            field = parser.nextFieldName();
+        } else if (parser.currentToken() == JsonToken.FIELD_NAME) {
+            field = parser.currentName();
+        } else {
+            return (CargoImportRecord) context.handleUnexpectedToken(
+                    CargoImportRecord.class, parser);
+        }
+        String vehicleNumber = null;
+        String description = null;
+        double weight = CargoImportRecord.MISSING_WEIGHT;
+        String statusText = null;
+        for (; field != null; field = parser.nextFieldName()) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case VEHICLE_FIELD -> vehicleNumber = readVehicleNumber(parser, token);
+                case DESCRIPTION_FIELD -> description = readText(parser, token);
+                case WEIGHT_FIELD -> weight = readWeight(parser, token);
+                case STATUS_FIELD -> statusText = readText(parser, token);
+                default -> parser.skipChildren();
+            }
+        }
+        DeliveryStatus status = parseStatus(statusText);
+        return new CargoImportRecord(vehicleNumber, description, weight, status,
+                statusText != null && status == null ? statusText : null);
+    }
+
+    /**
+     * Reads the vehicle number of a nested vehicle object, skipping its other fields.
+     *
+     * @param parser The parser positioned at the vehicle value
+     * @param token  The current token
+     * @return the vehicle number, or null if the vehicle or its number is missing
+     * @throws IOException if the content cannot be read
+     */
+    private String readVehicleNumber(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String vehicleNumber = null;
+        for (String field = parser.nextFieldName(); field != null;
+                field = parser.nextFieldName()) {
+            JsonToken valueToken = parser.nextToken();
+            if (VEHICLE_NUMBER_FIELD.equals(field)) {
+                vehicleNumber = readText(parser, valueToken);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return vehicleNumber;
+    }
+
+    private String readText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        String text = parser.getValueAsString();
+        parser.skipChildren();
+        return text;
+    }
+
+    private double readWeight(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return CargoImportRecord.MISSING_WEIGHT;
+        }
+        if (token.isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        double weight = parser.getValueAsDouble(CargoImportRecord.MISSING_WEIGHT);
+        parser.skipChildren();
+        return weight;
+    }
+
+    /**
+     * Parses the text of a status field.
+     *
+     * @param text The status text, may be null
+     * @return the delivery status, or null if the text is missing or matches no status
+     */
+    private DeliveryStatus parseStatus(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return DeliveryStatus.valueOf(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.service.io.CargoUpsertService;
+
+/**
+ * Service class upserting cargos with a single INSERT ... ON CONFLICT statement per list,
+ * against the partial unique index on the natural_key column, which only cargos saved by
+ * upserts fill in. A conflicting cargo is only updated when one of its values differs,
+ * so an unchanged cargo costs no row version and is reported as unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+public class CargoUpsertServiceImpl implements CargoUpsertService {
+    /**
+     * Upserts the array parameters into the cargo table. IDs are reserved from
+     * cargo_id_seq in blocks of 50, as in the COPY merge, and xmax is 0 only for
+     * inserted rows, which tells inserted and updated rows apart.
+     */
+    private static final String UPSERT_CARGOS = """
+            WITH input AS (
+                SELECT row_number() OVER () - 1 AS row_index, i.*
+                FROM unnest(?::BIGINT[], ?::VARCHAR[], ?::DOUBLE PRECISION[],
+                            ?::VARCHAR[], ?::UUID[])
+                     AS i(vehicle_id, description, weight, status, natural_key)
+            ),
+            id_blocks AS (
+                SELECT row_number() OVER () - 1 AS block_index,
+                       nextval('cargo_id_seq') AS block_end
+                FROM generate_series(1, CEIL((SELECT COUNT(*) FROM input) / 50.0)::INTEGER)
+            )
+            INSERT INTO cargo (id, vehicle_id, description, weight, status, natural_key)
+            SELECT b.block_end - 49 + i.row_index % 50,
+                   i.vehicle_id, i.description, i.weight, i.status, i.natural_key
+            FROM input i
+            JOIN id_blocks b ON b.block_index = i.row_index / 50
+            ON CONFLICT (natural_key) WHERE natural_key IS NOT NULL DO UPDATE
+            SET vehicle_id = EXCLUDED.vehicle_id,
+                description = EXCLUDED.description,
+                weight = EXCLUDED.weight,
+                status = EXCLUDED.status
+            WHERE (cargo.vehicle_id, cargo.description, cargo.weight, cargo.status)
+                  IS DISTINCT FROM (EXCLUDED.vehicle_id, EXCLUDED.description,
+                                    EXCLUDED.weight, EXCLUDED.status)
+            RETURNING xmax = 0 AS inserted""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the cargos, or updates the cargos already saved with the same natural key,
+     * in a single statement.
+     *
+     * @param cargos The cargos to save, with their distinct natural keys set
+     * @return DataProcessingResponseDto containing the number of inserted, updated
+     *         and unchanged cargos
+     */
+    @Override
+    public DataProcessingResponseDto upsert(List<Cargo> cargos) {
+        if (cargos.isEmpty()) {
+            return new DataProcessingResponseDto(0, 0);
+        }
+        return jdbcTemplate.execute((ConnectionCallback<DataProcessingResponseDto>)
+                connection -> upsert(cargos, connection));
+    }
+
+    private DataProcessingResponseDto upsert(List<Cargo> cargos, Connection connection)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_CARGOS)) {
+            statement.setArray(1, toArray(connection, "bigint", cargos,
+                    cargo -> cargo.getVehicle().getId(), Long[]::new));
+            statement.setArray(2, toArray(connection, "varchar", cargos,
+                    Cargo::getDescription, String[]::new));
+            statement.setArray(3, toArray(connection, "float8", cargos,
+                    Cargo::getWeight, Double[]::new));
+            statement.setArray(4, toArray(connection, "varchar", cargos,
+                    cargo -> cargo.getStatus().name(), String[]::new));
+            statement.setArray(5, toArray(connection, "uuid", cargos,
+                    Cargo::getNaturalKey, UUID[]::new));
+            int inserted = 0;
+            int updated = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (resultSet.getBoolean(1)) {
+                        inserted++;
+                    } else {
+                        updated++;
+                    }
+                }
+            }
+            return new DataProcessingResponseDto(
+                    inserted, 0, updated, cargos.size() - inserted - updated);
+        }
+    }
+
+    private <T> Array toArray(Connection connection,
+                              String typeName,
+                              List<Cargo> cargos,
+                              Function<Cargo, T> column,
+                              IntFunction<T[]> arrayFactory) throws SQLException {
+        return connection.createArrayOf(
+                typeName, cargos.stream().map(column).toArray(arrayFactory));
+    }
+}
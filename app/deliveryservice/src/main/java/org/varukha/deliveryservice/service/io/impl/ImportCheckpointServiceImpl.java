@@ -0,0 +1,208 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+import org.varukha.deliveryservice.model.ImportCheckpointChunk;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+import org.varukha.deliveryservice.repository.CargoRepository;
+import org.varukha.deliveryservice.repository.ImportCheckpointChunkRepository;
+import org.varukha.deliveryservice.repository.ImportCheckpointRepository;
+import org.varukha.deliveryservice.service.io.ImportCheckpointService;
+
+/**
+ * Service class storing import checkpoints in the database.
+ * Every chunk is committed together with a row recording its index, and the chunk
+ * index is unique per file, so a chunk can never be saved twice: not by a resumed
+ * import, and not by two imports of the same file running at once.
+ * Checkpoints are kept for a configurable time, so an import job resuming a file within
+ * that time skips what was committed before, and are purged when new ones are opened.
+ * Jobs that don't resume restart the checkpoint and import the whole file again.
+ * A chunk the database refuses as a whole is retried row by row: every cargo is saved
+ * alone in a transaction that is rolled back, to find the cargos the database rejects,
+ * then the accepted cargos are committed with the chunk record, still atomically.
+ */
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class ImportCheckpointServiceImpl implements ImportCheckpointService {
+    private final ImportCheckpointRepository checkpointRepository;
+    private final ImportCheckpointChunkRepository chunkRepository;
+    private final CargoRepository cargoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cargo.import.checkpoint-retention:P30D}")
+    private Duration checkpointRetention;
+
+    @Override
+    public ImportCheckpoint open(String sourceKey, String fileName, int chunkSize) {
+        int purged = checkpointRepository.deleteByUpdatedAtBefore(
+                LocalDateTime.now().minus(checkpointRetention));
+        if (purged > 0) {
+            log.info("Purged {} expired import checkpoints", purged);
+        }
+        return checkpointRepository.findBySourceKey(sourceKey)
+                .orElseGet(() -> create(sourceKey, fileName, chunkSize));
+    }
+
+    @Override
+    public ImportCheckpoint restart(String sourceKey, String fileName, int chunkSize) {
+        ImportCheckpoint checkpoint = open(sourceKey, fileName, chunkSize);
+        LocalDateTime restartedAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            chunkRepository.deleteByCheckpointId(checkpoint.getId());
+            checkpointRepository.restart(checkpoint.getId(), chunkSize, ImportStatus.RUNNING,
+                    restartedAt);
+        });
+        checkpoint.setChunkSize(chunkSize);
+        checkpoint.setSuccessfulImports(0L);
+        checkpoint.setFailedImports(0L);
+        checkpoint.setStatus(ImportStatus.RUNNING);
+        checkpoint.setUpdatedAt(restartedAt);
+        checkpoint.setContentHash(null);
+        return checkpoint;
+    }
+
+    @Override
+    public BitSet findCommittedChunks(ImportCheckpoint checkpoint) {
+        BitSet committedChunks = new BitSet();
+        chunkRepository.findChunkIndexes(checkpoint.getId()).forEach(committedChunks::set);
+        return committedChunks;
+    }
+
+    @Override
+    @Transactional
+    public void saveChunk(ImportCheckpoint checkpoint,
+                          int chunkIndex,
+                          List<Cargo> cargos,
+                          int failedImports) {
+        commitChunk(checkpoint, chunkIndex, cargos, failedImports);
+    }
+
+    @Override
+    public boolean isChunkCommitted(ImportCheckpoint checkpoint, int chunkIndex) {
+        return chunkRepository.existsByCheckpointIdAndChunkIndex(checkpoint.getId(), chunkIndex);
+    }
+
+    @Override
+    public Map<Integer, String> saveChunkRowByRow(ImportCheckpoint checkpoint,
+                                                  int chunkIndex,
+                                                  List<Cargo> cargos,
+                                                  int failedImports) {
+        Map<Integer, String> rejections = new TreeMap<>();
+        List<Cargo> acceptedCargos = new ArrayList<>(cargos.size());
+        for (int i = 0; i < cargos.size(); i++) {
+            Cargo cargo = copyOf(cargos.get(i));
+            String rejection = transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                try {
+                    cargoRepository.saveAndFlush(copyOf(cargo));
+                    return null;
+                } catch (DataAccessException e) {
+                    return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                }
+            });
+            if (rejection == null) {
+                acceptedCargos.add(cargo);
+            } else {
+                rejections.put(i, rejection);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> commitChunk(
+                checkpoint, chunkIndex, acceptedCargos, failedImports + rejections.size()));
+        return rejections;
+    }
+
+    /**
+     * Saves the cargos of a chunk and records the chunk, in the current transaction.
+     *
+     * @param checkpoint    The checkpoint of the file
+     * @param chunkIndex    The index of the chunk within the file
+     * @param cargos        The cargos to save
+     * @param failedImports The number of rejected cargos of the chunk
+     */
+    private void commitChunk(ImportCheckpoint checkpoint,
+                             int chunkIndex,
+                             List<Cargo> cargos,
+                             int failedImports) {
+        ImportCheckpointChunk chunk = new ImportCheckpointChunk();
+        chunk.setCheckpointId(checkpoint.getId());
+        chunk.setChunkIndex(chunkIndex);
+        chunkRepository.saveAndFlush(chunk);
+        cargoRepository.saveAll(cargos);
+        checkpointRepository.addImports(checkpoint.getId(), cargos.size(), failedImports,
+                LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void complete(ImportCheckpoint checkpoint,
+                         long successful,
+                         long failed,
+                         String contentHash) {
+        checkpointRepository.addImports(checkpoint.getId(), successful, failed,
+                LocalDateTime.now());
+        checkpointRepository.findById(checkpoint.getId()).ifPresent(completed -> {
+            completed.setStatus(ImportStatus.COMPLETED);
+            completed.setContentHash(contentHash);
+        });
+        chunkRepository.deleteByCheckpointId(checkpoint.getId());
+    }
+
+    /**
+     * Copies a cargo without its ID, which a failed save may have assigned already, and
+     * without its natural key, which only upserts store, so a chunk may hold the same
+     * cargo twice.
+     *
+     * @param cargo The cargo to copy
+     * @return a new, transient cargo
+     */
+    private Cargo copyOf(Cargo cargo) {
+        Cargo copy = new Cargo();
+        copy.setVehicle(cargo.getVehicle());
+        copy.setDescription(cargo.getDescription());
+        copy.setWeight(cargo.getWeight());
+        copy.setStatus(cargo.getStatus());
+        return copy;
+    }
+
+    /**
+     * Creates the checkpoint of a file imported for the first time. If another import
+     * of the same file creates it concurrently, that checkpoint is returned instead.
+     *
+     * @param sourceKey The fingerprint identifying the file
+     * @param fileName  The name of the file
+     * @param chunkSize The chunk size of the import
+     * @return the checkpoint of the file
+     */
+    private ImportCheckpoint create(String sourceKey, String fileName, int chunkSize) {
+        ImportCheckpoint checkpoint = new ImportCheckpoint();
+        checkpoint.setSourceKey(sourceKey);
+        checkpoint.setFileName(fileName);
+        checkpoint.setChunkSize(chunkSize);
+        checkpoint.setSuccessfulImports(0L);
+        checkpoint.setFailedImports(0L);
+        checkpoint.setStatus(ImportStatus.RUNNING);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        try {
+            return checkpointRepository.saveAndFlush(checkpoint);
+        } catch (DataIntegrityViolationException e) {
+            return checkpointRepository.findBySourceKey(sourceKey).orElseThrow(() -> e);
+        }
+    }
+}
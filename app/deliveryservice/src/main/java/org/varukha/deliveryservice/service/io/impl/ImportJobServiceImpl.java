@@ -0,0 +1,129 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.dto.importjob.ImportRejectionDto;
+import org.varukha.deliveryservice.exception.EntityNotFoundException;
+import org.varukha.deliveryservice.mapper.ImportJobMapper;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.service.io.ImportJobService;
+import org.varukha.deliveryservice.service.io.ImportSource;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+import org.varukha.deliveryservice.service.io.job.ImportRejectionReport;
+
+/**
+ * Service class keeping import jobs in memory and reporting their progress.
+ * Finished jobs are retained for a configurable time and evicted when new jobs are created,
+ * together with their rejection reports.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportJobServiceImpl implements ImportJobService {
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ImportJobMapper importJobMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${cargo.import.job-retention:PT24H}")
+    private Duration jobRetention;
+
+    @Value("${cargo.import.upsert-max-keys:100000}")
+    private int upsertMaxKeys;
+
+    /**
+     * Registers a new running import job for the given sources.
+     *
+     * @param mode    The strategy used to persist the parsed cargos
+     * @param sources The sources imported by the job
+     * @return The registered import job
+     */
+    @Override
+    public ImportJob createJob(ImportMode mode, boolean resume, List<ImportSource> sources) {
+        evictExpiredJobs();
+        List<ImportFileProgress> files = sources.stream()
+                .map(source -> new ImportFileProgress(source.name(), source.size()))
+                .toList();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), mode, resume, files,
+                new ImportRejectionReport(objectMapper.writerFor(ImportRejectionDto.class)),
+                upsertMaxKeys);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * Retrieves the current state of an import job.
+     *
+     * @param jobId The ID of the import job
+     * @return The import job response DTO
+     * @throws EntityNotFoundException if the import job with the specified ID is not found.
+     */
+    @Override
+    public ImportJobResponseDto getById(String jobId) {
+        return importJobMapper.toDto(findJob(jobId));
+    }
+
+    /**
+     * Retrieves the records rejected by an import job so far.
+     *
+     * @param jobId The ID of the import job
+     * @return The NDJSON rejection report, empty if no record was rejected
+     * @throws EntityNotFoundException if the import job with the specified ID is not found.
+     */
+    @Override
+    public Resource getRejectionReport(String jobId) {
+        return findJob(jobId).getRejectionReport()
+                .getFile()
+                .<Resource>map(FileSystemResource::new)
+                .orElseGet(() -> new ByteArrayResource(new byte[0]));
+    }
+
+    /**
+     * Retrieves the current state of all retained import jobs, newest first.
+     *
+     * @return A list of import job response DTOs
+     */
+    @Override
+    public List<ImportJobResponseDto> getAll() {
+        return jobs.values()
+                .stream()
+                .sorted(Comparator.comparing(ImportJob::getStartedAt).reversed())
+                .map(importJobMapper::toDto)
+                .toList();
+    }
+
+    private ImportJob findJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Can't find import job by ID: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Removes finished jobs older than the retention period and deletes their reports.
+     */
+    private void evictExpiredJobs() {
+        Instant expiration = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getFinishedAt() != null
+                    && job.getFinishedAt().isBefore(expiration);
+            if (expired) {
+                job.getRejectionReport().delete();
+            }
+            return expired;
+        });
+    }
+}
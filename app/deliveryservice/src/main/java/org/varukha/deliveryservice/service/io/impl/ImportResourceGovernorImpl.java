@@ -0,0 +1,201 @@
+package org.varukha.deliveryservice.service.io.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.service.io.ImportResourceGovernor;
+
+/**
+ * Service class governing the database resources of bulk imports.
+ * Write batches in flight are bounded by a fixed number of permits shared by all imports.
+ * Import connections are bounded by a limit adjusted with additive increase and
+ * multiplicative decrease: when the p99 latency of interactive requests exceeds its target
+ * the limit is halved, otherwise it grows by one, between the configured minimum and
+ * maximum. The limit is re-evaluated by importing threads at most once per interval,
+ * so no background thread is needed.
+ * Metrics are published under cargo.import.governor and cargo.interactive.latency.
+ */
+@Service
+@Log4j2
+public class ImportResourceGovernorImpl implements ImportResourceGovernor {
+    private static final String METRIC_PREFIX = "cargo.import.governor.";
+    private static final double P99 = 0.99;
+
+    private final Semaphore batchPermits;
+    private final int minConnections;
+    private final int maxConnections;
+    private final long targetP99Nanos;
+    private final long adjustIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReleased = lock.newCondition();
+    private final Timer interactiveLatency;
+    private final Timer batchThrottle;
+    private final Timer connectionThrottle;
+    private final Counter limitDecreases;
+    private final Counter limitIncreases;
+    private volatile int connectionLimit;
+    private volatile int connectionsInUse;
+    private long nextAdjustNanos;
+
+    /**
+     * Creates the governor and registers its metrics.
+     *
+     * @param meterRegistry       the registry publishing the governor metrics
+     * @param maxInFlightBatches  the maximum number of write batches of all imports in flight
+     * @param minConnections      the lowest limit of connections used by imports
+     * @param maxConnections      the highest limit of connections used by imports
+     * @param targetP99           the p99 latency of interactive requests to stay under
+     * @param adjustInterval      the minimum time between two adjustments of the limit
+     * @param latencyWindow       the time interactive latencies are taken into account for
+     */
+    public ImportResourceGovernorImpl(
+            MeterRegistry meterRegistry,
+            @Value("${cargo.import.governor.max-in-flight-batches:16}") int maxInFlightBatches,
+            @Value("${cargo.import.governor.min-connections:1}") int minConnections,
+            @Value("${cargo.import.governor.max-connections:4}") int maxConnections,
+            @Value("${cargo.import.governor.target-p99:200ms}") Duration targetP99,
+            @Value("${cargo.import.governor.adjust-interval:1s}") Duration adjustInterval,
+            @Value("${cargo.import.governor.latency-window:10s}") Duration latencyWindow) {
+        this.batchPermits = new Semaphore(maxInFlightBatches);
+        this.minConnections = minConnections;
+        this.maxConnections = maxConnections;
+        this.targetP99Nanos = targetP99.toNanos();
+        this.adjustIntervalNanos = adjustInterval.toNanos();
+        this.connectionLimit = maxConnections;
+        this.nextAdjustNanos = System.nanoTime() + adjustIntervalNanos;
+        this.interactiveLatency = Timer.builder("cargo.interactive.latency")
+                .description("Latency of interactive requests observed by the import governor")
+                .publishPercentiles(P99)
+                .distributionStatisticExpiry(latencyWindow)
+                .distributionStatisticBufferLength(2)
+                .register(meterRegistry);
+        this.batchThrottle = Timer.builder(METRIC_PREFIX + "throttled")
+                .description("Time imports waited for a governor permit")
+                .tag("resource", "batch")
+                .register(meterRegistry);
+        this.connectionThrottle = Timer.builder(METRIC_PREFIX + "throttled")
+                .description("Time imports waited for a governor permit")
+                .tag("resource", "connection")
+                .register(meterRegistry);
+        this.limitDecreases = Counter.builder(METRIC_PREFIX + "adjustments")
+                .tag("direction", "decrease")
+                .register(meterRegistry);
+        this.limitIncreases = Counter.builder(METRIC_PREFIX + "adjustments")
+                .tag("direction", "increase")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "connection.limit", this,
+                        governor -> governor.connectionLimit)
+                .description("Current limit of database connections used by imports")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "connections.in.use", this,
+                        governor -> governor.connectionsInUse)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "batches.in.flight", batchPermits,
+                        permits -> maxInFlightBatches - permits.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void acquireBatch() {
+        if (batchPermits.tryAcquire()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            batchPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataProcessingException("Import interrupted while throttled", e);
+        } finally {
+            batchThrottle.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void releaseBatch() {
+        batchPermits.release();
+    }
+
+    @Override
+    public void acquireConnection() {
+        long startNanos = System.nanoTime();
+        boolean throttled = false;
+        lock.lock();
+        try {
+            adjustLimitIfDue();
+            while (connectionsInUse >= connectionLimit) {
+                throttled = true;
+                connectionReleased.awaitNanos(adjustIntervalNanos);
+                adjustLimitIfDue();
+            }
+            connectionsInUse++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataProcessingException("Import interrupted while throttled", e);
+        } finally {
+            lock.unlock();
+            if (throttled) {
+                connectionThrottle.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void releaseConnection() {
+        lock.lock();
+        try {
+            connectionsInUse--;
+            connectionReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void recordInteractiveLatency(long nanos) {
+        interactiveLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adjusts the connection limit to the current interactive p99 latency,
+     * if the adjustment interval elapsed. Must be called while holding the lock.
+     */
+    private void adjustLimitIfDue() {
+        long now = System.nanoTime();
+        if (now - nextAdjustNanos < 0) {
+            return;
+        }
+        nextAdjustNanos = now + adjustIntervalNanos;
+        double p99Nanos = interactiveP99Nanos();
+        if (p99Nanos > targetP99Nanos && connectionLimit > minConnections) {
+            connectionLimit = Math.max(minConnections, connectionLimit / 2);
+            limitDecreases.increment();
+            log.info("Interactive p99 latency {} ms over target, import connections limited"
+                    + " to {}", String.format("%.1f", p99Nanos / 1_000_000), connectionLimit);
+        } else if (p99Nanos <= targetP99Nanos && connectionLimit < maxConnections) {
+            connectionLimit++;
+            limitIncreases.increment();
+            connectionReleased.signal();
+        }
+    }
+
+    private double interactiveP99Nanos() {
+        for (ValueAtPercentile percentile : interactiveLatency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == P99) {
+                return percentile.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return 0;
+    }
+}
@@ -4,53 +4,98 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
-import org.varukha.deliveryservice.model.Cargo;
-import org.varukha.deliveryservice.repository.CargoRepository;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.exception.DataProcessingException;
+import org.varukha.deliveryservice.exception.InvalidImportSourceException;
+import org.varukha.deliveryservice.model.ImportCheckpoint;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.repository.VehicleRepository;
+import org.varukha.deliveryservice.service.io.CargoArchiveImportService;
+import org.varukha.deliveryservice.service.io.CargoChunkImportService;
+import org.varukha.deliveryservice.service.io.ImportJobService;
+import org.varukha.deliveryservice.service.io.ImportSource;
 import org.varukha.deliveryservice.service.io.JsonDataProcessingService;
-import org.varukha.deliveryservice.service.io.JsonReaderService;
+import org.varukha.deliveryservice.service.io.job.ImportFileProgress;
+import org.varukha.deliveryservice.service.io.job.ImportJob;
+import org.varukha.deliveryservice.service.io.job.ImportVehicleCache;
+import org.varukha.deliveryservice.util.io.ContentHash;
+import org.varukha.deliveryservice.util.io.CountingInputStream;
 
 /**
  * Service class for processing JSON data from uploaded files.
+ * Every upload runs as an import job whose files are processed concurrently
+ * on the application-wide import executor. This class schedules the files of a job;
+ * the chunks of a file are imported by CargoChunkImportService and the entries
+ * of an archive are dispatched by CargoArchiveImportService.
+ * Every file is identified by a fingerprint of its name, size and sampled content and
+ * checkpointed per committed chunk. A job started to resume its files continues each file
+ * after its last committed chunk, or skips the file if its import completed, and reports
+ * the records committed before as skipped. Any other job imports its files from the start.
  */
 @Service
 @Log4j2
 @RequiredArgsConstructor
 public class JsonDataProcessingServiceImpl implements JsonDataProcessingService {
     private static final String JSON_RESPONSE_PATH = "data_processing_response/response.json";
-    private static final Integer THREAD_NUMBER = Runtime.getRuntime().availableProcessors();
+    private static final String TEMP_FILE_PREFIX = "cargo-import-";
+    private static final double MEGABYTE = 1024 * 1024;
+    private static final String DEFAULT_SERVER_GLOB = "*.{json,ndjson,jsonl,gz,zip}";
 
-    private final JsonReaderService jsonReaderService;
-    private final CargoRepository cargoRepository;
+    private final CargoChunkImportService cargoChunkImportService;
+    private final CargoArchiveImportService cargoArchiveImportService;
+    private final ImportJobService importJobService;
+    private final VehicleRepository vehicleRepository;
     private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+
+    @Value("${cargo.import.split-size:64MB}")
+    private DataSize splitSize;
+
+    @Value("${cargo.import.server-root:}")
+    private String serverRoot;
 
     /**
      * Uploads JSON files and processes them, returning a response DTO.
      *
      * @param files List of Multipart files containing JSON data
+     * @param mode  The strategy used to persist the parsed cargos
      * @return DataProcessingResponseDto containing import statistics
      */
     @Override
-    public DataProcessingResponseDto uploadFromJson(List<MultipartFile> files) {
+    public DataProcessingResponseDto uploadFromJson(List<MultipartFile> files, ImportMode mode) {
         DataProcessingResponseDto responseDto = new DataProcessingResponseDto(0, 0);
         try {
-            List<DataProcessingResponseDto> responseDtoList = processFiles(files);
-            responseDto = calculateTotalImports(responseDtoList);
+            List<ImportSource> sources = files.stream()
+                    .map(ImportSource::of)
+                    .toList();
+            ImportJob job = importJobService.createJob(mode, false, sources);
+            runJob(job, sources).join();
+            responseDto = job.toTotals();
             writeResponseToFile(responseDto);
         } catch (RuntimeException e) {
             log.error("Error occurred while saving data"
@@ -60,105 +105,290 @@ public class JsonDataProcessingServiceImpl implements JsonDataProcessingService
     }
 
     /**
-     * Processes a list of Multipart files containing JSON data concurrently.
+     * Starts an asynchronous import job for the uploaded JSON files.
+     * The uploads are copied to temporary files first, because multipart content
+     * is discarded as soon as the request completes.
      *
-     * @param files List of Multipart files containing JSON data
-     * @return List of DataProcessingResponseDto for each processed file
+     * @param files  List of Multipart files containing JSON data
+     * @param mode   The strategy used to persist the parsed cargos
+     * @param resume Whether files imported before resume from their checkpoints
+     * @return ImportJobResponseDto describing the started job
      */
-    private List<DataProcessingResponseDto> processFiles(List<MultipartFile> files) {
-        ExecutorService executor = Executors.newFixedThreadPool(THREAD_NUMBER);
-        CompletionService<DataProcessingResponseDto> completionService =
-                new ExecutorCompletionService<>(executor);
-        List<Future<DataProcessingResponseDto>> futures = new ArrayList<>();
+    @Override
+    public ImportJobResponseDto startImport(List<MultipartFile> files,
+                                            ImportMode mode,
+                                            boolean resume) {
+        List<Path> tempFiles = new ArrayList<>();
+        List<ImportSource> sources = new ArrayList<>();
         try {
             for (MultipartFile file : files) {
-                log.info("Processing file: {}", file.getOriginalFilename());
-                futures.add(completionService.submit(() -> {
-                    List<Cargo> cargoList = jsonReaderService.loadJsonFile(file);
-                    return processCargoList(cargoList);
-                }));
+                Path tempFile = Files.createTempFile(TEMP_FILE_PREFIX, ".json");
+                tempFiles.add(tempFile);
+                file.transferTo(tempFile);
+                sources.add(ImportSource.of(file.getOriginalFilename(), tempFile));
             }
-            List<DataProcessingResponseDto> responseDtoList = new ArrayList<>();
-            for (Future<DataProcessingResponseDto> future : futures) {
-                try {
-                    responseDtoList.add(future.get());
-                } catch (InterruptedException | ExecutionException e) {
-                    log.error("Error occurred while processing files: {}", e.getMessage());
-                }
+        } catch (IOException e) {
+            deleteTempFiles(tempFiles);
+            throw new DataProcessingException("Failed to store uploaded files", e);
+        }
+        ImportJob job = importJobService.createJob(mode, resume, sources);
+        runJob(job, sources).whenComplete((result, error) -> deleteTempFiles(tempFiles));
+        return importJobService.getById(job.getId());
+    }
+
+    /**
+     * Starts an asynchronous import job for JSON files already stored on the server.
+     * The files are read directly from disk through memory-mapped regions.
+     *
+     * @param directory The directory to import, relative to the configured import root
+     * @param glob      The glob selecting files by their path relative to the directory,
+     *                  or null to select every supported file directly in the directory
+     * @param mode      The strategy used to persist the parsed cargos
+     * @param resume    Whether files imported before resume from their checkpoints
+     * @return ImportJobResponseDto describing the started job
+     * @throws InvalidImportSourceException if the directory is outside of the import root,
+     *                                      does not exist or contains no matching files
+     */
+    @Override
+    public ImportJobResponseDto startServerImport(String directory,
+                                                  String glob,
+                                                  ImportMode mode,
+                                                  boolean resume) {
+        Path root = resolveServerRoot();
+        List<ImportSource> sources = new ArrayList<>();
+        for (Path file : findServerFiles(root, directory, glob)) {
+            try {
+                sources.add(ImportSource.of(root.relativize(file).toString(), file));
+            } catch (IOException e) {
+                throw new InvalidImportSourceException("Can't read file " + file, e);
             }
-            return responseDtoList;
-        } finally {
-            if (executor != null) {
-                waitForCompletion(executor);
+        }
+        ImportJob job = importJobService.createJob(mode, resume, sources);
+        runJob(job, sources);
+        return importJobService.getById(job.getId());
+    }
+
+    /**
+     * Resolves the configured directory server-side imports are confined to.
+     *
+     * @return the real path of the import root
+     * @throws InvalidImportSourceException if server-side imports are not configured
+     */
+    private Path resolveServerRoot() {
+        if (serverRoot.isBlank()) {
+            throw new InvalidImportSourceException(
+                    "Server-side import is disabled, cargo.import.server-root is not set");
+        }
+        try {
+            return Path.of(serverRoot).toRealPath();
+        } catch (IOException e) {
+            throw new InvalidImportSourceException(
+                    "Can't find import root directory " + serverRoot, e);
+        }
+    }
+
+    /**
+     * Finds the files to import within the import root. Directories are walked without
+     * following symbolic links, so the import can't escape the root.
+     *
+     * @param root      The real path of the import root
+     * @param directory The directory to import, relative to the import root
+     * @param glob      The glob matched against paths relative to the directory, may be null
+     * @return the matching regular files, in path order
+     * @throws InvalidImportSourceException if the directory is invalid or nothing matches
+     */
+    private List<Path> findServerFiles(Path root, String directory, String glob) {
+        Path start = resolveServerDirectory(root, directory);
+        String fileGlob = glob == null || glob.isBlank() ? DEFAULT_SERVER_GLOB : glob;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + fileGlob);
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(start)) {
+            files = paths
+                    .filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS))
+                    .filter(path -> matcher.matches(start.relativize(path)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new InvalidImportSourceException("Can't list directory " + directory, e);
+        }
+        if (files.isEmpty()) {
+            throw new InvalidImportSourceException(
+                    "No files in directory " + directory + " match " + fileGlob);
+        }
+        return files;
+    }
+
+    /**
+     * Resolves a directory within the import root, rejecting paths that leave the root
+     * directly or through symbolic links.
+     *
+     * @param root      The real path of the import root
+     * @param directory The directory to resolve, relative to the import root
+     * @return the real path of the directory
+     * @throws InvalidImportSourceException if the directory is outside of the root or missing
+     */
+    private Path resolveServerDirectory(Path root, String directory) {
+        try {
+            Path resolved = root.resolve(directory).toRealPath();
+            if (resolved.startsWith(root) && Files.isDirectory(resolved)) {
+                return resolved;
             }
+        } catch (IOException | InvalidPathException e) {
+            log.warn("Can't resolve server import directory {}: {}", directory, e.getMessage());
         }
+        throw new InvalidImportSourceException(
+                "Can't find directory " + directory + " in the import root");
     }
 
     /**
-     * Method to wait for the completion of all threads in the executor service.
+     * Submits every source of the job to the import executor.
      *
-     * @param executorService The executor service to wait for completion
+     * @param job     The import job tracking the progress
+     * @param sources The sources to import, in the order of the job files
+     * @return A future completed when all sources are processed, successfully or not
      */
-    private void waitForCompletion(ExecutorService executorService) {
-        executorService.shutdown();
+    private CompletableFuture<Void> runJob(ImportJob job, List<ImportSource> sources) {
+        ImportVehicleCache vehicleCache = new ImportVehicleCache(vehicleRepository);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            futures.add(runSource(sources.get(i), job, job.getFiles().get(i), vehicleCache));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .handle((result, error) -> {
+                    job.finish();
+                    log.info("Import job {} finished with status {}: {}",
+                            job.getId(), job.getStatus(), job.toTotals());
+                    return null;
+                });
+    }
+
+    /**
+     * Submits a single source to the import executor and records its outcome.
+     * Large newline-delimited files are split into line-aligned byte ranges first,
+     * so the ranges of one file are parsed by several workers in parallel.
+     * ZIP archives are read by one worker, which dispatches their entries.
+     *
+     * @param source       The source to import
+     * @param job          The import job the source belongs to
+     * @param progress     The progress entry of the source, shared by all its ranges
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     * @return A future completed when every range of the source is processed
+     */
+    private CompletableFuture<Void> runSource(ImportSource source,
+                                              ImportJob job,
+                                              ImportFileProgress progress,
+                                              ImportVehicleCache vehicleCache) {
+        log.info("Processing file: {}", source.name());
+        List<CompletableFuture<Void>> parts = new ArrayList<>();
+        Throwable schedulingError = null;
         try {
-            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
-                executorService.shutdownNow();
-                if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
-                    log.error("Executor service did not terminate after shutdownNow()");
+            if (source.isArchive()) {
+                parts.add(CompletableFuture.supplyAsync(
+                                () -> cargoArchiveImportService.importArchive(
+                                        source, job, progress, vehicleCache),
+                                importTaskExecutor)
+                        .thenCompose(Function.identity()));
+            } else {
+                for (ImportSource range : source.splitByLines(splitSize.toBytes())) {
+                    parts.add(CompletableFuture.runAsync(
+                            () -> processSource(range, job, progress, vehicleCache),
+                            importTaskExecutor));
                 }
             }
-        } catch (InterruptedException e) {
-            log.error("Thread interrupted while waiting for executor service termination");
-            executorService.shutdownNow();
-            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            log.error("Import executor is saturated, rejecting file {}", source.name());
+            schedulingError = e;
+        } catch (IOException e) {
+            log.error("Error splitting file {}: {}", source.name(), e.getMessage());
+            schedulingError = e;
         }
+        Throwable rejection = schedulingError;
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+                .handle((result, error) -> {
+                    Throwable cause = rejection != null ? rejection : unwrap(error);
+                    if (cause == null) {
+                        progress.complete();
+                        log.info("File {} imported: {} records/s, {} MB/s",
+                                source.name(),
+                                String.format("%.1f", progress.getRecordsPerSecond()),
+                                String.format("%.2f", progress.getBytesPerSecond() / MEGABYTE));
+                    } else {
+                        log.error("Error occurred while processing file {}: {}",
+                                source.name(), cause.getMessage());
+                        progress.fail(cause);
+                    }
+                    return null;
+                });
     }
 
     /**
-     * Calculates the total number of successful and failed imports from a list of DTOs.
+     * Imports a single source, or a single range of a source, counting the bytes read.
+     * The checkpoint of the source is found by its fingerprint, except for upsert jobs,
+     * which are idempotent by themselves and don't checkpoint.
      *
-     * @param dtoList List of DataProcessingResponseDto
-     * @return Total import statistics as a single DataProcessingResponseDto
+     * @param source       The source to import
+     * @param job          The import job the source belongs to
+     * @param progress     The progress entry of the source
+     * @param vehicleCache Vehicle lookup shared by all files of the import job
+     * @throws UncheckedIOException if the source cannot be read
      */
-    private DataProcessingResponseDto calculateTotalImports(
-            List<DataProcessingResponseDto> dtoList) {
-        int totalSuccessfulImports = 0;
-        int totalFailedImports = 0;
-        for (DataProcessingResponseDto responseDto : dtoList) {
-            totalSuccessfulImports += responseDto.successfulImports();
-            totalFailedImports += responseDto.failedImports();
+    private void processSource(ImportSource source,
+                               ImportJob job,
+                               ImportFileProgress progress,
+                               ImportVehicleCache vehicleCache) {
+        progress.start();
+        try {
+            if (!job.isCheckpointed()) {
+                try (InputStream inputStream = new CountingInputStream(
+                        source.openStream(), progress::addBytesProcessed)) {
+                    cargoChunkImportService.upsertChunks(
+                            inputStream, source.name(), job, progress, vehicleCache);
+                }
+                return;
+            }
+            Optional<ImportCheckpoint> checkpoint = cargoChunkImportService.openCheckpoint(
+                    source.fingerprint(), source.name(), job, progress,
+                    () -> ContentHash.sha256Hex(source.openStream()));
+            if (checkpoint.isEmpty()) {
+                progress.addBytesProcessed(Math.max(source.size(), 0));
+                return;
+            }
+            try (InputStream inputStream = new CountingInputStream(
+                    source.openStream(), progress::addBytesProcessed)) {
+                cargoChunkImportService.importChunks(inputStream, source.name(),
+                        checkpoint.get(), job, progress, vehicleCache);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return new DataProcessingResponseDto(totalSuccessfulImports, totalFailedImports);
     }
 
     /**
-     * Processes the cargo list, saving cargo data to the database and returning a response DTO.
+     * Returns the original error of a failed future stage.
      *
-     * @param cargoList List of Cargo objects to process
-     * @return DataProcessingResponseDto containing import statistics
+     * @param error The error passed to a completion handler, may be null
+     * @return the error without its CompletionException wrapper
      */
-    private DataProcessingResponseDto processCargoList(List<Cargo> cargoList) {
-        int successfulImports = 0;
-        int failedImports = 0;
-        for (Cargo cargo : cargoList) {
+    private Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Deletes temporary copies of uploaded files.
+     *
+     * @param tempFiles The temporary files to delete
+     */
+    private void deleteTempFiles(List<Path> tempFiles) {
+        for (Path tempFile : tempFiles) {
             try {
-                if (cargo.getVehicle() != null) {
-                    cargoRepository.save(cargo);
-                    log.info("Cargo saved successfully: id={}, vehicle={}, description={}",
-                            cargo.getId(), cargo.getVehicle(), cargo.getDescription());
-                    successfulImports++;
-                } else {
-                    log.warn("Cargo's vehicle is null. Skipping saving cargo data.");
-                    failedImports++;
-                }
-            } catch (Exception e) {
-                String errorMessage = "Error saving cargo data: " + e.getMessage();
-                log.error(errorMessage);
-                throw new RuntimeException(errorMessage, e);
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.error("Error deleting temporary file {}: {}", tempFile, e.getMessage());
             }
         }
-        return new DataProcessingResponseDto(successfulImports, failedImports);
     }
 
     /**
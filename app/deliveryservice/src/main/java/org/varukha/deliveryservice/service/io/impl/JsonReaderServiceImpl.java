@@ -3,62 +3,141 @@ package org.varukha.deliveryservice.service.io.impl;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.util.ArrayList;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.zip.GZIPInputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import org.varukha.deliveryservice.model.Cargo;
+import org.varukha.deliveryservice.service.io.CargoImportRecord;
+import org.varukha.deliveryservice.service.io.ImportChunk;
 import org.varukha.deliveryservice.service.io.JsonReaderService;
 
 /**
- * Service for reading JSON files and parsing them into Cargo objects.
- * This class provides a method to load a JSON file
- * and parse its contents into a list of Cargo objects.
+ * Service for reading JSON files and parsing them into cargo import records.
+ * This class streams the contents of a JSON file token by token
+ * and hands the decoded records over in fixed-size chunks.
+ * Records are decoded by a reader built once, whose dedicated deserializer
+ * skips the fields the import does not need instead of binding them.
+ * Both JSON arrays and newline-delimited JSON are accepted, and gzip-compressed
+ * content is recognized by its header and decompressed while it is read.
  */
 @Service
-@RequiredArgsConstructor
 public class JsonReaderServiceImpl implements JsonReaderService {
     private static final Logger LOGGER = LogManager.getLogger(JsonReaderServiceImpl.class);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
     private final ObjectMapper objectMapper;
+    private final ObjectReader cargoRecordReader;
 
     /**
-     * Loads JSON file into a list of Cargo objects.
+     * Creates the service and builds the reader decoding cargo import records.
      *
-     * @param file the JSON file to parse
-     * @return a list of Cargo objects parsed from the JSON file
+     * @param objectMapper the application object mapper, used for its parser configuration
+     */
+    public JsonReaderServiceImpl(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.cargoRecordReader = objectMapper.copy()
+                .registerModule(new SimpleModule().addDeserializer(
+                        CargoImportRecord.class, new CargoImportRecordDeserializer()))
+                .readerFor(CargoImportRecord.class);
+    }
+
+    /**
+     * Streams a JSON file and hands the decoded cargo records over in fixed-size chunks.
+     * Every object found in the content is decoded as a cargo, so the same loop reads
+     * a top-level array as well as a sequence of root-level objects, one per line.
+     *
+     * @param inputStream   the JSON or NDJSON content to parse, optionally gzip-compressed,
+     *                      closed when reading completes
+     * @param fileName      the name of the file, used in error messages
+     * @param chunkSize     the maximum number of records passed to the consumer at once
+     * @param chunkConsumer the consumer invoked for every parsed chunk
      * @throws RuntimeException if the specified file is not a valid JSON file
      */
-    public List<Cargo> loadJsonFile(MultipartFile file) {
-        List<Cargo> cargoList = new ArrayList<>();
-        try (JsonParser parser = createJsonParser(file)) {
+    @Override
+    public void readJsonFile(InputStream inputStream,
+                             String fileName,
+                             int chunkSize,
+                             Consumer<List<CargoImportRecord>> chunkConsumer) {
+        readJsonFile(inputStream, fileName, chunkSize, chunkIndex -> false,
+                chunk -> chunkConsumer.accept(chunk.records()));
+    }
+
+    /**
+     * Streams a JSON file and hands the decoded cargo records over in numbered chunks.
+     * Objects belonging to skipped chunks are passed over token by token without being
+     * decoded.
+     *
+     * @param inputStream   the JSON or NDJSON content to parse, optionally gzip-compressed,
+     *                      closed when reading completes
+     * @param fileName      the name of the file, used in error messages
+     * @param chunkSize     the number of records in every chunk but the last
+     * @param skipChunk     tests whether the chunk with the given index is skipped
+     * @param chunkConsumer the consumer invoked for every chunk that is not skipped
+     * @throws RuntimeException if the specified file is not a valid JSON file
+     */
+    @Override
+    public void readJsonFile(InputStream inputStream,
+                             String fileName,
+                             int chunkSize,
+                             IntPredicate skipChunk,
+                             Consumer<ImportChunk> chunkConsumer) {
+        List<CargoImportRecord> chunk = new ArrayList<>(chunkSize);
+        int chunkIndex = 0;
+        int chunkRecords = 0;
+        boolean skipped = skipChunk.test(chunkIndex);
+        try (JsonParser parser = objectMapper.getFactory()
+                .createParser(decompressIfGzipped(inputStream))) {
             while (parser.nextToken() != null) {
                 if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
-                    Cargo cargo = objectMapper.readValue(parser, Cargo.class);
-                    cargoList.add(cargo);
+                    if (skipped) {
+                        parser.skipChildren();
+                    } else {
+                        chunk.add(cargoRecordReader.readValue(parser));
+                    }
+                    if (++chunkRecords == chunkSize) {
+                        if (!skipped) {
+                            chunkConsumer.accept(new ImportChunk(chunkIndex, chunk));
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                        skipped = skipChunk.test(++chunkIndex);
+                        chunkRecords = 0;
+                    }
                 }
             }
         } catch (IOException e) {
-            LOGGER.error("Error parsing the file {}", file.getName());
+            LOGGER.error("Error parsing the file {}", fileName, e);
             throw new RuntimeException("Error: The specified file "
-                    + file.getName() + " is not a valid JSON file.");
+                    + fileName + " is not a valid JSON file.", e);
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(new ImportChunk(chunkIndex, chunk));
         }
-        return cargoList;
     }
 
     /**
-     * Creates a JsonParser for the specified file.
+     * Wraps the stream in a decompressing stream if its content starts with the gzip header.
+     * Only the two header bytes are buffered here; the parser buffers the content itself.
      *
-     * @param file the JSON file
-     * @return a JsonParser instance
-     * @throws IOException if an I/O error occurs
+     * @param inputStream the raw content
+     * @return the stream to parse
+     * @throws IOException if the content cannot be read or the gzip header is corrupt
      */
-    private JsonParser createJsonParser(MultipartFile file) throws IOException {
-        InputStream inputStream = file.getInputStream();
-        return objectMapper.getFactory().createParser(inputStream);
+    private InputStream decompressIfGzipped(InputStream inputStream) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(inputStream, 2);
+        byte[] header = pushback.readNBytes(2);
+        pushback.unread(header);
+        if (header.length == 2
+                && ((header[0] & 0xFF) | (header[1] & 0xFF) << 8) == GZIPInputStream.GZIP_MAGIC) {
+            return new GZIPInputStream(pushback, GZIP_BUFFER_SIZE);
+        }
+        return pushback;
     }
 }
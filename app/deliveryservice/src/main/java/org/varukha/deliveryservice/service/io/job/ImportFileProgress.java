@@ -0,0 +1,123 @@
+package org.varukha.deliveryservice.service.io.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+
+/**
+ * Thread-safe progress of a single file within an import job.
+ */
+@Getter
+public class ImportFileProgress {
+    private final String fileName;
+    private final long totalBytes;
+    private final AtomicLong bytesProcessed = new AtomicLong();
+    private final AtomicLong successfulImports = new AtomicLong();
+    private final AtomicLong failedImports = new AtomicLong();
+    private final AtomicLong updatedImports = new AtomicLong();
+    private final AtomicLong skippedImports = new AtomicLong();
+    private volatile ImportStatus status = ImportStatus.QUEUED;
+    private volatile String errorMessage;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    /**
+     * Creates the progress of a queued file.
+     *
+     * @param fileName   The name of the file
+     * @param totalBytes The size of the file in bytes, or -1 if unknown
+     */
+    public ImportFileProgress(String fileName, long totalBytes) {
+        this.fileName = fileName;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Marks the file as being processed. Further calls, made when several
+     * workers process parts of the same file, keep the original start time.
+     */
+    public synchronized void start() {
+        if (startedAt == null) {
+            startedAt = Instant.now();
+        }
+        status = ImportStatus.RUNNING;
+    }
+
+    /**
+     * Adds the statistics of a processed chunk.
+     *
+     * @param successful The number of cargos saved
+     * @param failed     The number of cargos rejected
+     */
+    public void addImports(long successful, long failed) {
+        successfulImports.addAndGet(successful);
+        failedImports.addAndGet(failed);
+    }
+
+    /**
+     * Adds the statistics of an upserted chunk beyond its inserted and rejected cargos.
+     *
+     * @param updated The number of cargos updated in place
+     * @param skipped The number of records skipped as duplicates, unchanged or committed
+     *                by an earlier import of the file
+     */
+    public void addUpserts(long updated, long skipped) {
+        updatedImports.addAndGet(updated);
+        skippedImports.addAndGet(skipped);
+    }
+
+    /**
+     * Adds the number of bytes read from the file.
+     *
+     * @param bytes The number of bytes read
+     */
+    public void addBytesProcessed(long bytes) {
+        bytesProcessed.addAndGet(bytes);
+    }
+
+    /**
+     * Marks the file as successfully processed.
+     */
+    public void complete() {
+        finishedAt = Instant.now();
+        status = ImportStatus.COMPLETED;
+    }
+
+    /**
+     * Marks the file as failed.
+     *
+     * @param cause The error that stopped the processing
+     */
+    public void fail(Throwable cause) {
+        errorMessage = cause.getMessage();
+        finishedAt = Instant.now();
+        status = ImportStatus.FAILED;
+    }
+
+    /**
+     * Calculates the average record throughput of the file since it was started.
+     *
+     * @return The number of processed records per second
+     */
+    public double getRecordsPerSecond() {
+        return (successfulImports.get() + failedImports.get() + updatedImports.get()
+                + skippedImports.get()) * 1000.0 / getElapsedMillis();
+    }
+
+    /**
+     * Calculates the average read throughput of the file since it was started.
+     *
+     * @return The number of bytes read per second
+     */
+    public double getBytesPerSecond() {
+        return bytesProcessed.get() * 1000.0 / getElapsedMillis();
+    }
+
+    private long getElapsedMillis() {
+        Instant start = startedAt == null ? Instant.now() : startedAt;
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        return Math.max(Duration.between(start, end).toMillis(), 1);
+    }
+}
@@ -0,0 +1,122 @@
+package org.varukha.deliveryservice.service.io.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.Getter;
+import org.varukha.deliveryservice.dto.DataProcessingResponseDto;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+
+/**
+ * An in-memory import job tracking the progress of all files submitted together,
+ * and the report of the records it rejected. Only jobs started to resume their files skip
+ * what earlier imports of the files committed. Upsert jobs also keep a bounded set of the
+ * natural keys they committed while they run, to skip duplicate records in memory.
+ */
+@Getter
+public class ImportJob {
+    private final String id;
+    private final ImportMode mode;
+    private final boolean resume;
+    private final List<ImportFileProgress> files;
+    private final ImportRejectionReport rejectionReport;
+    private final UpsertKeySet upsertKeys;
+    private final ImportStageMetrics parseStage = new ImportStageMetrics();
+    private final ImportStageMetrics writeStage = new ImportStageMetrics();
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile ImportStatus status = ImportStatus.RUNNING;
+
+    /**
+     * Creates a running import job.
+     *
+     * @param id              The unique identifier of the job
+     * @param mode            The strategy used to persist the parsed cargos
+     * @param resume          Whether files imported before resume from their checkpoints
+     * @param files           The progress entries of the files in the job
+     * @param rejectionReport The report of the records rejected by the job
+     * @param maxUpsertKeys   The maximum number of committed natural keys the job keeps
+     */
+    public ImportJob(String id,
+                     ImportMode mode,
+                     boolean resume,
+                     List<ImportFileProgress> files,
+                     ImportRejectionReport rejectionReport,
+                     int maxUpsertKeys) {
+        this.id = id;
+        this.mode = mode;
+        this.resume = resume;
+        this.files = List.copyOf(files);
+        this.rejectionReport = rejectionReport;
+        this.upsertKeys = new UpsertKeySet(maxUpsertKeys);
+    }
+
+    /**
+     * Marks the job as finished, failed if any of its files failed,
+     * releases the natural keys it saw and closes its rejection report.
+     */
+    public void finish() {
+        finishedAt = Instant.now();
+        status = files.stream().anyMatch(file -> file.getStatus() == ImportStatus.FAILED)
+                ? ImportStatus.FAILED
+                : ImportStatus.COMPLETED;
+        upsertKeys.clear();
+        rejectionReport.close();
+    }
+
+    /**
+     * Checks whether the job checkpoints its files. Upsert jobs are idempotent by themselves
+     * and don't checkpoint.
+     *
+     * @return true if the files of the job are checkpointed per committed chunk
+     */
+    public boolean isCheckpointed() {
+        return mode != ImportMode.UPSERT;
+    }
+
+    public long getSuccessfulImports() {
+        return files.stream().mapToLong(file -> file.getSuccessfulImports().get()).sum();
+    }
+
+    public long getFailedImports() {
+        return files.stream().mapToLong(file -> file.getFailedImports().get()).sum();
+    }
+
+    public long getUpdatedImports() {
+        return files.stream().mapToLong(file -> file.getUpdatedImports().get()).sum();
+    }
+
+    public long getSkippedImports() {
+        return files.stream().mapToLong(file -> file.getSkippedImports().get()).sum();
+    }
+
+    public long getBytesProcessed() {
+        return files.stream().mapToLong(file -> file.getBytesProcessed().get()).sum();
+    }
+
+    /**
+     * Calculates the average throughput of the job since it was started.
+     *
+     * @return The number of processed records per second
+     */
+    public double getRecordsPerSecond() {
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        long elapsedMillis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        return (getSuccessfulImports() + getFailedImports() + getUpdatedImports()
+                + getSkippedImports()) * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Summarizes the job as import totals.
+     *
+     * @return DataProcessingResponseDto containing import statistics
+     */
+    public DataProcessingResponseDto toTotals() {
+        return new DataProcessingResponseDto(
+                (int) getSuccessfulImports(),
+                (int) getFailedImports(),
+                (int) getUpdatedImports(),
+                (int) getSkippedImports());
+    }
+}
@@ -0,0 +1,116 @@
+package org.varukha.deliveryservice.service.io.job;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.varukha.deliveryservice.dto.importjob.ImportRejectionDto;
+
+/**
+ * Thread-safe NDJSON report of the records rejected by an import job.
+ * Rejections are streamed to a temporary file as they occur, so the report does not
+ * hold rejected records in memory. The file is created with the first rejection
+ * and stays readable after the report is closed, until the report is deleted.
+ */
+public class ImportRejectionReport {
+    private static final String REPORT_FILE_PREFIX = "cargo-import-rejections-";
+    private static final String REPORT_FILE_SUFFIX = ".ndjson";
+
+    private final ObjectWriter rejectionWriter;
+    private Path file;
+    private Writer writer;
+    private boolean closed;
+
+    /**
+     * Creates an empty report.
+     *
+     * @param rejectionWriter Serializes a rejection to a single line of JSON
+     */
+    public ImportRejectionReport(ObjectWriter rejectionWriter) {
+        this.rejectionWriter = rejectionWriter;
+    }
+
+    /**
+     * Appends a rejected record to the report.
+     *
+     * @param fileName    The name of the file the record was read from
+     * @param recordIndex The zero-based index of the record within the file
+     * @param reason      The reason the record was rejected
+     * @throws UncheckedIOException if the report cannot be written
+     * @throws IllegalStateException if the report is closed
+     */
+    public synchronized void reject(String fileName, long recordIndex, String reason) {
+        if (closed) {
+            throw new IllegalStateException("Import rejection report is closed");
+        }
+        try {
+            if (writer == null) {
+                file = Files.createTempFile(REPORT_FILE_PREFIX, REPORT_FILE_SUFFIX);
+                writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+            }
+            writer.write(rejectionWriter.writeValueAsString(
+                    new ImportRejectionDto(fileName, recordIndex, reason)));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import rejection report", e);
+        }
+    }
+
+    /**
+     * Flushes the rejections written so far and returns the report file.
+     *
+     * @return the report file, or an empty Optional if no record was rejected
+     * @throws UncheckedIOException if the report cannot be flushed
+     */
+    public synchronized Optional<Path> getFile() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to flush import rejection report", e);
+            }
+        }
+        return Optional.ofNullable(file);
+    }
+
+    /**
+     * Closes the writer of the report, keeping the report file.
+     * No rejection can be appended afterwards.
+     *
+     * @throws UncheckedIOException if the report cannot be closed
+     */
+    public synchronized void close() {
+        closed = true;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close import rejection report", e);
+            } finally {
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes the report file, if any.
+     *
+     * @throws UncheckedIOException if the report file cannot be deleted
+     */
+    public synchronized void delete() {
+        close();
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+                file = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete import rejection report", e);
+        }
+    }
+}
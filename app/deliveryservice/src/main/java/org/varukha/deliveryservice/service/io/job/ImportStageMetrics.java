@@ -0,0 +1,63 @@
+package org.varukha.deliveryservice.service.io.job;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe throughput counters of one stage of the import pipeline.
+ * Busy time is the time the stage spent doing its own work, wait time is the time
+ * it spent blocked on the neighbouring stage, so comparing both stages shows
+ * which side of the pipeline limits the throughput.
+ */
+public class ImportStageMetrics {
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Records a processed chunk.
+     *
+     * @param recordCount The number of records in the chunk
+     * @param nanos       The time spent processing the chunk
+     */
+    public void recordBusy(long recordCount, long nanos) {
+        records.addAndGet(recordCount);
+        busyNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Records time spent waiting on the neighbouring stage.
+     *
+     * @param nanos The time spent waiting
+     */
+    public void recordWait(long nanos) {
+        waitNanos.addAndGet(nanos);
+    }
+
+    public long getRecords() {
+        return records.get();
+    }
+
+    public double getBusySeconds() {
+        return toSeconds(busyNanos.get());
+    }
+
+    public double getWaitSeconds() {
+        return toSeconds(waitNanos.get());
+    }
+
+    /**
+     * Calculates the throughput of the stage per second of busy time. For a stage run by
+     * several threads this is the combined throughput of one thread-second.
+     *
+     * @return The number of records processed per busy second
+     */
+    public double getRecordsPerSecond() {
+        long nanos = busyNanos.get();
+        return nanos == 0 ? 0 : records.get() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,51 @@
+package org.varukha.deliveryservice.service.io.job;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.varukha.deliveryservice.model.Vehicle;
+import org.varukha.deliveryservice.repository.VehicleRepository;
+
+/**
+ * In-memory lookup of vehicles by vehicle number, built once per import job.
+ * The whole vehicle table is preloaded on creation; numbers that are not found are
+ * looked up again in the database once and the result, including a miss, is cached.
+ * The cache is safe to share between the worker threads of an import job.
+ */
+@Log4j2
+public class ImportVehicleCache {
+    private static final Vehicle UNKNOWN_VEHICLE = new Vehicle();
+
+    private final VehicleRepository vehicleRepository;
+    private final Map<String, Vehicle> vehiclesByNumber = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache and preloads all vehicles.
+     *
+     * @param vehicleRepository the repository used to load vehicles
+     */
+    public ImportVehicleCache(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+        for (Vehicle vehicle : vehicleRepository.findAll()) {
+            vehiclesByNumber.put(vehicle.getVehicleNumber(), vehicle);
+        }
+        log.info("Vehicle cache loaded with {} vehicles", vehiclesByNumber.size());
+    }
+
+    /**
+     * Resolves a vehicle by its number, refreshing the entry from the database on a miss.
+     *
+     * @param vehicleNumber the vehicle number to resolve
+     * @return an Optional containing the vehicle, or empty if no such vehicle exists
+     */
+    public Optional<Vehicle> resolve(String vehicleNumber) {
+        if (vehicleNumber == null) {
+            return Optional.empty();
+        }
+        Vehicle vehicle = vehiclesByNumber.computeIfAbsent(vehicleNumber,
+                number -> vehicleRepository.findByVehicleNumberWithoutCargos(number)
+                        .orElse(UNKNOWN_VEHICLE));
+        return vehicle == UNKNOWN_VEHICLE ? Optional.empty() : Optional.of(vehicle);
+    }
+}
@@ -0,0 +1,58 @@
+package org.varukha.deliveryservice.service.io.job;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe set of the natural keys an upsert job has committed, holding at most
+ * a fixed number of keys. Once it is full, further keys are not recorded and their
+ * duplicates reach the database, which still resolves them through the natural key index.
+ * The set is exact rather than probabilistic, so a new record is never skipped
+ * by mistake.
+ */
+public class UpsertKeySet {
+    private final Set<UUID> keys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxKeys;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param maxKeys The maximum number of keys the set records
+     */
+    public UpsertKeySet(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Checks whether a key was recorded as committed.
+     *
+     * @param key The natural key
+     * @return true if a cargo with the key was committed by the job
+     */
+    public boolean contains(UUID key) {
+        return keys.contains(key);
+    }
+
+    /**
+     * Records the key of a committed cargo, unless the set is full.
+     *
+     * @param key The natural key
+     */
+    public void add(UUID key) {
+        if (size.get() < maxKeys && keys.add(key) && size.incrementAndGet() > maxKeys) {
+            keys.remove(key);
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Releases every recorded key.
+     */
+    public void clear() {
+        keys.clear();
+        size.set(0);
+    }
+}
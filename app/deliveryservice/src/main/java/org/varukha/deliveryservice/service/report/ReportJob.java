@@ -0,0 +1,94 @@
+package org.varukha.deliveryservice.service.report;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import lombok.Getter;
+import org.varukha.deliveryservice.model.enums.ReportStatus;
+
+/**
+ * An in-memory report job generating one report file. Jobs are keyed by the normalized
+ * filter of the report and the data version it was built for, so a completed job serves
+ * its file to every identical request until the data changes or the file is evicted.
+ */
+@Getter
+public class ReportJob {
+    private final String id;
+    private final String key;
+    private final String filter;
+    private final long dataVersion;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile Instant lastAccessedAt = createdAt;
+    private volatile ReportStatus status = ReportStatus.QUEUED;
+    private volatile long sizeBytes;
+    private volatile String error;
+
+    /**
+     * Creates a queued report job.
+     *
+     * @param id          The unique identifier of the job
+     * @param key         The key of the report, derived from the filter and the data version
+     * @param filter      The normalized filter of the report
+     * @param dataVersion The version of the cargo data the report is built for
+     * @param file        The path the finished report is stored at
+     */
+    public ReportJob(String id, String key, String filter, long dataVersion, Path file) {
+        this.id = id;
+        this.key = key;
+        this.filter = filter;
+        this.dataVersion = dataVersion;
+        this.file = file;
+    }
+
+    /**
+     * Marks the job as running.
+     */
+    public void start() {
+        status = ReportStatus.RUNNING;
+    }
+
+    /**
+     * Marks the job as completed.
+     *
+     * @param sizeBytes The size of the stored report file
+     */
+    public void complete(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+        finishedAt = Instant.now();
+        status = ReportStatus.COMPLETED;
+    }
+
+    /**
+     * Marks the job as failed.
+     *
+     * @param error The reason of the failure
+     */
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        status = ReportStatus.FAILED;
+    }
+
+    /**
+     * Records that the report file was requested, which keeps it from being evicted first.
+     */
+    public void touch() {
+        lastAccessedAt = Instant.now();
+    }
+
+    /**
+     * Tells whether the job can serve a request for the same report, either because it is
+     * still being generated or because its file is stored.
+     *
+     * @return true if the job can be reused
+     */
+    public boolean isReusable() {
+        return switch (status) {
+            case QUEUED, RUNNING -> true;
+            case COMPLETED -> Files.exists(file);
+            case FAILED -> false;
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package org.varukha.deliveryservice.util.http;
+
+import java.util.Locale;
+
+/**
+ * Utility class reading the Accept-Encoding request header. The header lists content
+ * codings separated by commas, each optionally weighted with a q parameter from 0 to 1,
+ * where 0 means the coding is not acceptable.
+ */
+public final class AcceptEncoding {
+    private static final String GZIP_CODING = "gzip";
+    private static final String ANY_CODING = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Checks whether a client accepts gzip-encoded responses. A gzip entry decides alone;
+     * without one, a wildcard entry decides. Codings are matched exactly, so names that
+     * only contain "gzip" are not gzip.
+     *
+     * @param acceptEncoding The value of the Accept-Encoding header, may be null
+     * @return true if gzip, or any coding, is listed with a weight above 0
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (GZIP_CODING.equals(coding)) {
+                gzipQuality = quality(parts);
+            } else if (ANY_CODING.equals(coding)) {
+                anyQuality = quality(parts);
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * Reads the weight of a coding from its parameters.
+     *
+     * @param parts The coding followed by its parameters
+     * @return the weight, 1 if there is none and 0 if it is malformed
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    return Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
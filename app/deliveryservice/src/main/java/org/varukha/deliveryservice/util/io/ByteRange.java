@@ -0,0 +1,18 @@
+package org.varukha.deliveryservice.util.io;
+
+/**
+ * A half-open range of bytes within a file.
+ *
+ * @param start The offset of the first byte of the range
+ * @param end   The offset just past the last byte of the range
+ */
+public record ByteRange(long start, long end) {
+    /**
+     * Returns the number of bytes in the range.
+     *
+     * @return the length of the range
+     */
+    public long length() {
+        return end - start;
+    }
+}
@@ -0,0 +1,95 @@
+package org.varukha.deliveryservice.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Utility class computing SHA-256 hashes used to identify import content.
+ */
+public final class ContentHash {
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Hashes the whole content of a stream.
+     *
+     * @param inputStream The content to hash, closed when hashing completes
+     * @return the hex-encoded SHA-256 hash of the content
+     * @throws IOException if the content cannot be read
+     */
+    public static String sha256Hex(InputStream inputStream) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (inputStream) {
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hashes a text, used to derive keys from other keys.
+     *
+     * @param text The text to hash
+     * @return the hex-encoded SHA-256 hash of the UTF-8 encoded text
+     */
+    public static String sha256Hex(String text) {
+        return HexFormat.of().formatHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Hashes a text into a compact 128-bit key.
+     *
+     * @param text The text to hash
+     * @return the first 128 bits of the SHA-256 hash of the UTF-8 encoded text
+     */
+    public static UUID sha256Uuid(String text) {
+        ByteBuffer hash = ByteBuffer.wrap(
+                newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+        return new UUID(hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Hashes the size of a stream and samples of its content: the first and the last bytes.
+     * The stream is skipped between the samples, so the cost does not grow with the size
+     * and streams that can seek, such as files, are not read as a whole.
+     *
+     * @param inputStream The content to sample, closed when hashing completes
+     * @param size        The size of the content in bytes
+     * @param sampleSize  The number of bytes sampled from each end of the content
+     * @return the hex-encoded SHA-256 hash of the size and the samples
+     * @throws IOException if the content cannot be read or is shorter than its size
+     */
+    public static String sampledSha256Hex(InputStream inputStream, long size, int sampleSize)
+            throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(ByteBuffer.allocate(Long.BYTES).putLong(size).array());
+        try (inputStream) {
+            byte[] head = inputStream.readNBytes((int) Math.min(size, sampleSize));
+            digest.update(head);
+            long tailStart = Math.max(size - sampleSize, head.length);
+            inputStream.skipNBytes(tailStart - head.length);
+            digest.update(inputStream.readNBytes((int) (size - tailStart)));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not supported", e);
+        }
+    }
+}
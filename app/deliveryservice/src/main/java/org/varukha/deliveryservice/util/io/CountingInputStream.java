@@ -0,0 +1,51 @@
+package org.varukha.deliveryservice.util.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Input stream decorator reporting the number of bytes read to a callback.
+ */
+public class CountingInputStream extends FilterInputStream {
+    private final LongConsumer bytesReadListener;
+
+    /**
+     * Creates a counting stream over the given stream.
+     *
+     * @param in                The stream to read from
+     * @param bytesReadListener Receives the number of bytes returned by every read
+     */
+    public CountingInputStream(InputStream in, LongConsumer bytesReadListener) {
+        super(in);
+        this.bytesReadListener = bytesReadListener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            bytesReadListener.accept(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int bytesRead = super.read(buffer, offset, length);
+        if (bytesRead > 0) {
+            bytesReadListener.accept(bytesRead);
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        long skipped = super.skip(length);
+        if (skipped > 0) {
+            bytesReadListener.accept(skipped);
+        }
+        return skipped;
+    }
+}
@@ -0,0 +1,77 @@
+package org.varukha.deliveryservice.util.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Input stream decorator hashing the bytes read with SHA-256, so content is hashed while
+ * it is consumed instead of being read a second time. Skipped bytes are read and hashed.
+ */
+public class HashingInputStream extends FilterInputStream {
+    private static final int SKIP_BUFFER_SIZE = 8 * 1024;
+
+    private final MessageDigest digest = ContentHash.newDigest();
+
+    /**
+     * Creates a hashing stream over the given stream.
+     *
+     * @param in The stream to read from
+     */
+    public HashingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            digest.update((byte) value);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int bytesRead = super.read(buffer, offset, length);
+        if (bytesRead > 0) {
+            digest.update(buffer, offset, bytesRead);
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(length, SKIP_BUFFER_SIZE)];
+        long skipped = 0;
+        while (skipped < length) {
+            int bytesRead = read(buffer, 0, (int) Math.min(length - skipped, buffer.length));
+            if (bytesRead == -1) {
+                break;
+            }
+            skipped += bytesRead;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the rest of the content and returns the hash of everything read.
+     * Readers may stop before the end of the content, after the last JSON value for example,
+     * so the hash always covers the whole content.
+     *
+     * @return the hex-encoded SHA-256 hash of the content
+     * @throws IOException if the content cannot be read
+     */
+    public String finish() throws IOException {
+        transferTo(OutputStream.nullOutputStream());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
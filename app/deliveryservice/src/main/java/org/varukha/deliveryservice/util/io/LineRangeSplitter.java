@@ -0,0 +1,74 @@
+package org.varukha.deliveryservice.util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class splitting a line-oriented file into byte ranges that start
+ * and end at line boundaries, so every range can be parsed on its own.
+ */
+public final class LineRangeSplitter {
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private LineRangeSplitter() {
+    }
+
+    /**
+     * Splits a file into ranges of roughly the target size. Every range except
+     * the last ends just past a newline, so no line is cut between two ranges.
+     *
+     * @param path       The file to split
+     * @param targetSize The preferred size of a range in bytes
+     * @return the ranges covering the whole file, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<ByteRange> split(Path path, long targetSize) throws IOException {
+        List<ByteRange> ranges = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long end = start + targetSize >= size
+                        ? size
+                        : nextLineStart(channel, start + targetSize, size);
+                ranges.add(new ByteRange(start, end));
+                start = end;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Finds the offset just past the first newline at or after the given position.
+     *
+     * @param channel  The channel to scan
+     * @param position The offset to start scanning from
+     * @param size     The size of the file
+     * @return the offset of the next line, or the file size if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int bytesRead = channel.read(buffer, offset);
+            if (bytesRead <= 0) {
+                break;
+            }
+            for (int i = 0; i < bytesRead; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += bytesRead;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,121 @@
+package org.varukha.deliveryservice.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Input stream reading a byte range of a file through memory-mapped regions.
+ * The range is mapped one region at a time, so files of any size can be read
+ * without copying their content through kernel read buffers, and several ranges
+ * of the same file can be read concurrently.
+ */
+public class MappedFileInputStream extends InputStream {
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private long regionEnd;
+    private MappedByteBuffer region;
+
+    /**
+     * Opens a stream over a range of a file.
+     *
+     * @param path  The file to read
+     * @param range The range of the file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(Path path, ByteRange range) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.regionEnd = range.start();
+        this.end = range.end();
+    }
+
+    /**
+     * Opens a stream over a whole file.
+     *
+     * @param path The file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(Path path) throws IOException {
+        this(path, new ByteRange(0, Long.MAX_VALUE));
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int bytesRead = Math.min(length, region.remaining());
+        region.get(buffer, offset, bytesRead);
+        return bytesRead;
+    }
+
+    /**
+     * Skips bytes by moving the read position, without mapping the skipped regions.
+     *
+     * @param count The number of bytes to skip
+     * @return the number of bytes skipped, less than requested at the end of the range
+     * @throws IOException if the file size cannot be read
+     */
+    @Override
+    public long skip(long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+        long position = region == null ? regionEnd : regionEnd - region.remaining();
+        long skipped = Math.max(0, Math.min(count, Math.min(end, channel.size()) - position));
+        if (region != null && skipped <= region.remaining()) {
+            region.position(region.position() + (int) skipped);
+        } else {
+            region = null;
+            regionEnd = position + skipped;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return region == null ? 0 : region.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the next region once the current one is consumed.
+     *
+     * @return true if there are bytes left to read
+     * @throws IOException if the next region cannot be mapped
+     */
+    private boolean ensureRemaining() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        long limit = Math.min(end, channel.size());
+        if (regionEnd >= limit) {
+            return false;
+        }
+        long regionSize = Math.min(REGION_SIZE, limit - regionEnd);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, regionEnd, regionSize);
+        regionEnd += regionSize;
+        return true;
+    }
+}
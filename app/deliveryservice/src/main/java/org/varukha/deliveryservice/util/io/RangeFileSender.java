@@ -0,0 +1,121 @@
+package org.varukha.deliveryservice.util.io;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Utility class sending a stored file as the response to a request, with conditional
+ * request and byte range support. The file is handed over to the container to send
+ * with the sendfile system call when the connector supports it; otherwise it is copied
+ * through a file channel. A request for several ranges is answered with the whole file.
+ */
+public final class RangeFileSender {
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE =
+            "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private static final String BYTES_UNIT = "bytes";
+
+    private RangeFileSender() {
+    }
+
+    /**
+     * Sends the file, or the requested range of it, as an attachment.
+     *
+     * @param file         The file to send
+     * @param etag         The quoted entity tag identifying the file content
+     * @param lastModified The time the file content was created
+     * @param contentType  The media type of the file
+     * @param fileName     The file name suggested to the client
+     * @param request      The current request
+     * @param response     The response to write
+     * @throws IOException if the file cannot be read or the response cannot be written
+     */
+    public static void send(Path file,
+                            String etag,
+                            Instant lastModified,
+                            MediaType contentType,
+                            String fileName,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        if (new ServletWebRequest(request, response)
+                .checkNotModified(etag, lastModified.toEpochMilli())) {
+            return;
+        }
+        long size = Files.size(file);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        long start = 0;
+        long end = size;
+        List<HttpRange> ranges;
+        try {
+            ranges = requestedRanges(request, etag);
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size) + 1;
+                if (start >= size || start >= end) {
+                    throw new IllegalArgumentException("Range starts after the end of the file");
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + size);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (ranges.size() == 1) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    BYTES_UNIT + " " + start + "-" + (end - 1) + "/" + size);
+        }
+        response.setContentType(contentType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, output);
+            }
+        }
+    }
+
+    /**
+     * Parses the Range header, ignoring it if an If-Range header names other content.
+     *
+     * @param request The current request
+     * @param etag    The quoted entity tag of the file
+     * @return The requested ranges, empty if the whole file is requested
+     * @throws IllegalArgumentException if the Range header is malformed
+     */
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return List.of();
+        }
+        return HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+    }
+}
@@ -0,0 +1,84 @@
+package org.varukha.deliveryservice.util.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Single-pass content that can be hashed and then still be read. Content held in memory,
+ * whose stream supports mark and reset, is hashed and rewound; any other content is
+ * spooled to a temporary file while it is hashed, and is read from that file afterwards.
+ * Content that is never hashed is read directly, without any copy.
+ */
+public class ReplayableContent implements Closeable {
+    private static final String SPOOL_FILE_PREFIX = "cargo-import-entry-";
+    private static final String SPOOL_FILE_SUFFIX = ".tmp";
+
+    private InputStream inputStream;
+    private Path spoolFile;
+
+    /**
+     * Wraps content that has not been read yet.
+     *
+     * @param inputStream The content, closed when this content is closed
+     */
+    public ReplayableContent(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Hashes the whole content, leaving it readable from its start.
+     *
+     * @return the hex-encoded SHA-256 hash of the content
+     * @throws IOException if the content cannot be read or spooled
+     * @throws IllegalStateException if the content was hashed already
+     */
+    public String sha256Hex() throws IOException {
+        if (spoolFile != null) {
+            throw new IllegalStateException("Content was hashed already");
+        }
+        if (inputStream.markSupported()) {
+            inputStream.mark(Integer.MAX_VALUE);
+            String hash = ContentHash.sha256Hex(StreamUtils.nonClosing(inputStream));
+            inputStream.reset();
+            return hash;
+        }
+        spoolFile = Files.createTempFile(SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        HashingInputStream hashingStream = new HashingInputStream(inputStream);
+        Files.copy(hashingStream, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+        String hash = hashingStream.finish();
+        inputStream.close();
+        inputStream = Files.newInputStream(spoolFile);
+        return hash;
+    }
+
+    /**
+     * Returns the stream reading the content from its start, or from where the caller
+     * stopped reading it.
+     *
+     * @return the stream of the content, closed when this content is closed
+     */
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Closes the content and deletes its spool file, if there is one.
+     *
+     * @throws IOException if the content cannot be closed or the file deleted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            inputStream.close();
+        } finally {
+            if (spoolFile != null) {
+                Files.deleteIfExists(spoolFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.varukha.deliveryservice.util.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.varukha.deliveryservice.exception.InvalidCursorException;
+import org.varukha.deliveryservice.model.enums.CursorOrder;
+import org.varukha.deliveryservice.model.enums.DeliveryStatus;
+
+/**
+ * The position after the last cargo of a page read with a cursor. The position is
+ * handed to clients as an opaque token, the Base64URL encoding of the order followed
+ * by the key values of the last cargo, so the next page starts right after it.
+ *
+ * @param order  The key the pages are ordered by
+ * @param status The status of the last cargo, null when paging on the ID
+ * @param id     The ID of the last cargo
+ */
+public record CargoCursor(CursorOrder order, DeliveryStatus status, long id) {
+    private static final String SEPARATOR = ":";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Creates the cursor continuing after the given cargo key.
+     *
+     * @param order  The key the pages are ordered by
+     * @param status The status of the last cargo
+     * @param id     The ID of the last cargo
+     * @return the cursor, ignoring the status when paging on the ID
+     */
+    public static CargoCursor after(CursorOrder order, DeliveryStatus status, long id) {
+        return new CargoCursor(order, order == CursorOrder.STATUS_ID ? status : null, id);
+    }
+
+    /**
+     * Decodes a token issued by {@link #encode()}.
+     *
+     * @param token The token to decode
+     * @return the cursor
+     * @throws InvalidCursorException if the token was not issued by this service
+     */
+    public static CargoCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            CursorOrder order = CursorOrder.valueOf(parts[0]);
+            if (order == CursorOrder.STATUS_ID && parts.length == 3) {
+                return new CargoCursor(order, DeliveryStatus.valueOf(parts[1]),
+                        Long.parseLong(parts[2]));
+            }
+            if (order == CursorOrder.ID && parts.length == 2) {
+                return new CargoCursor(order, null, Long.parseLong(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+        throw new InvalidCursorException("Invalid cursor: " + token);
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String position = order == CursorOrder.STATUS_ID
+                ? order + SEPARATOR + status + SEPARATOR + id
+                : order + SEPARATOR + id;
+        return ENCODER.encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
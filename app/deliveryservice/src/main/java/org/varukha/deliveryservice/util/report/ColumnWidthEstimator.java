@@ -0,0 +1,110 @@
+package org.varukha.deliveryservice.util.report;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Estimates the widths of spreadsheet columns from the values written to them.
+ * Every value is measured with a character-width model while the row is written,
+ * and the widest value of every column sets its width once the sheet is complete.
+ * Unlike autosizing, this needs no font metrics and no second pass over the cells,
+ * so it also works with streaming workbooks, which keep only the last rows in memory.
+ * Widths are measured in tenths of the width of a digit, the unit Excel sizes columns in.
+ */
+public class ColumnWidthEstimator {
+    private static final int NARROW_CHARACTER_WIDTH = 5;
+    private static final int DEFAULT_CHARACTER_WIDTH = 10;
+    private static final int UPPER_CASE_CHARACTER_WIDTH = 12;
+    private static final int WIDE_CHARACTER_WIDTH = 20;
+    private static final int FIRST_WIDE_CODE_POINT = 0x1100;
+    private static final int PADDING_WIDTH = 2 * DEFAULT_CHARACTER_WIDTH;
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+    private static final int MAX_GENERAL_NUMBER_LENGTH = 11;
+    private static final double MAX_EXACT_WHOLE_NUMBER = 1e15;
+    private static final String NARROW_CHARACTERS = " !'(),./:;I[]`fijlrt|";
+
+    private final int[] maxWidths;
+
+    /**
+     * Creates an estimator for a sheet with the given number of columns.
+     *
+     * @param columns The number of columns to track
+     */
+    public ColumnWidthEstimator(int columns) {
+        this.maxWidths = new int[columns];
+    }
+
+    /**
+     * Records a text value written to a column.
+     *
+     * @param column The index of the column
+     * @param value  The text, may be null
+     */
+    public void record(int column, String value) {
+        if (value == null) {
+            return;
+        }
+        int width = 0;
+        for (int i = 0; i < value.length(); i++) {
+            width += characterWidth(value.charAt(i));
+        }
+        widen(column, width);
+    }
+
+    /**
+     * Records a numeric value written to a column, measured as Excel shows it
+     * in the General format.
+     *
+     * @param column The index of the column
+     * @param value  The number
+     */
+    public void record(int column, double value) {
+        int length;
+        if (value == Math.rint(value) && Math.abs(value) < MAX_EXACT_WHOLE_NUMBER) {
+            length = digitCount((long) value);
+        } else {
+            length = Math.min(Double.toString(value).length(), MAX_GENERAL_NUMBER_LENGTH);
+        }
+        widen(column, length * DEFAULT_CHARACTER_WIDTH);
+    }
+
+    /**
+     * Sets the width of every tracked column of the sheet to fit its widest value.
+     *
+     * @param sheet The sheet whose columns to size
+     */
+    public void applyTo(Sheet sheet) {
+        for (int column = 0; column < maxWidths.length; column++) {
+            int width = (maxWidths[column] + PADDING_WIDTH) * 256 / DEFAULT_CHARACTER_WIDTH;
+            sheet.setColumnWidth(column, Math.min(width, MAX_COLUMN_WIDTH));
+        }
+    }
+
+    private void widen(int column, int width) {
+        if (width > maxWidths[column]) {
+            maxWidths[column] = width;
+        }
+    }
+
+    private static int characterWidth(char character) {
+        if (character >= FIRST_WIDE_CODE_POINT) {
+            return WIDE_CHARACTER_WIDTH;
+        }
+        if (NARROW_CHARACTERS.indexOf(character) >= 0) {
+            return NARROW_CHARACTER_WIDTH;
+        }
+        if (Character.isUpperCase(character) || character == 'm' || character == 'w') {
+            return UPPER_CASE_CHARACTER_WIDTH;
+        }
+        return DEFAULT_CHARACTER_WIDTH;
+    }
+
+    private static int digitCount(long value) {
+        int count = value < 0 ? 2 : 1;
+        long remaining = Math.abs(value);
+        while (remaining >= 10) {
+            remaining /= 10;
+            count++;
+        }
+        return count;
+    }
+}
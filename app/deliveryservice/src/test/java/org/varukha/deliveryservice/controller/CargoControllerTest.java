@@ -2,25 +2,50 @@ package org.varukha.deliveryservice.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +55,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.mock.web.MockMultipartFile;
@@ -38,6 +64,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.varukha.deliveryservice.dto.cargo.CargoCursorPageResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoListResponseDto;
 import org.varukha.deliveryservice.dto.cargo.CargoRequestDto;
 import org.varukha.deliveryservice.dto.cargo.CargoResponseDto;
@@ -76,6 +103,9 @@ class CargoControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @MockBean
     private KafkaProducerService kafkaProducerService;
 
@@ -304,6 +334,194 @@ class CargoControllerTest {
         EqualsBuilder.reflectionEquals(expectedResult.list().get(1), actualResult.list().get(1));
     }
 
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getCargoList_CountNone_HasNextWithoutTotal() throws Exception {
+        mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                        .param("size", "2")
+                        .param("count", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+        mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                        .param("page", "2")
+                        .param("size", "2")
+                        .param("count", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.approximate").value(true));
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getCargoList_CountCached_InvalidatedByDelete() throws Exception {
+        MvcResult result = mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                        .param("size", "1")
+                        .param("count", "CACHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPages").value(3))
+                .andReturn();
+        CargoListResponseDto firstPage = objectMapper.readValue(
+                result.getResponse().getContentAsString(), CargoListResponseDto.class);
+
+        mockMvc.perform(delete(CARGOS_ENDPOINT + "/" + firstPage.list().get(0).id()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                        .param("size", "1")
+                        .param("count", "CACHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.approximate").value(false));
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    @DisplayName("Test that a search page loads its vehicles without a query per cargo")
+    void getCargoList_AnyPageSize_FixedStatementCount() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        for (String size : List.of("1", "3")) {
+            statistics.clear();
+            mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                            .param("size", size))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.list[0].vehicle.vehicleNumber").exists());
+            assertEquals(2, statistics.getPrepareStatementCount(),
+                    "content and count statements for page size " + size);
+
+            statistics.clear();
+            mockMvc.perform(get(CARGOS_ENDPOINT + "/_list/cursor")
+                            .param("size", size))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.list[0].vehicle.vehicleNumber").exists());
+            assertEquals(1, statistics.getPrepareStatementCount(),
+                    "content statement for cursor page size " + size);
+        }
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getCargoCursorPage_StatusIdOrder_PagesFollowCursor() throws Exception {
+        MvcResult firstResult = mockMvc.perform(get(CARGOS_ENDPOINT + "/_list/cursor")
+                        .param("size", "2")
+                        .param("order", "STATUS_ID"))
+                .andExpect(status().isOk())
+                .andReturn();
+        CargoCursorPageResponseDto firstPage = objectMapper.readValue(
+                firstResult.getResponse().getContentAsString(), CargoCursorPageResponseDto.class);
+
+        assertEquals(2, firstPage.list().size());
+        assertEquals("DELIVERED", firstPage.list().get(0).status());
+        assertEquals("DELIVERED", firstPage.list().get(1).status());
+        assertTrue(firstPage.list().get(0).id() < firstPage.list().get(1).id());
+        assertNotNull(firstPage.nextCursor());
+
+        MvcResult secondResult = mockMvc.perform(get(CARGOS_ENDPOINT + "/_list/cursor")
+                        .param("size", "2")
+                        .param("order", "STATUS_ID")
+                        .param("cursor", firstPage.nextCursor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        CargoCursorPageResponseDto secondPage = objectMapper.readValue(
+                secondResult.getResponse().getContentAsString(),
+                CargoCursorPageResponseDto.class);
+
+        assertEquals(1, secondPage.list().size());
+        assertEquals("PENDING", secondPage.list().get(0).status());
+        assertEquals(10.5, secondPage.list().get(0).weight());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    void getCargoCursorPage_InvalidCursor_ReturnHttpResponse_400() throws Exception {
+        mockMvc.perform(get(CARGOS_ENDPOINT + "/_list/cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getCargoList_WeightRouteNumberAndDescriptionFilters_MatchingCargo() throws Exception {
+        mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                        .param("minWeight", "12")
+                        .param("maxWeight", "20")
+                        .param("routeFrom", "Route 3")
+                        .param("routeTo", "Route 4")
+                        .param("vehicleNumber", "XYZ")
+                        .param("description", "CARGO 2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.list[0].weight").value(15.2))
+                .andExpect(jsonPath("$.list[0].vehicle.vehicleNumber").value("XYZ456"));
+        mockMvc.perform(get(CARGOS_ENDPOINT + "/_list")
+                        .param("vehicleNumber", "XY_")
+                        .param("description", "description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Test that every search filter can be answered by an index scan")
+    void searchFilters_QueryPlans_UseFilterIndexes(@Autowired DataSource dataSource)
+            throws Exception {
+        Map<String, String> indexesByQuery = Map.of(
+                "SELECT c.id FROM cargo c WHERE c.vehicle_id = 2",
+                "idx_cargo_vehicle_id",
+                "SELECT c.id FROM cargo c WHERE c.status = 'DELIVERED'",
+                "idx_cargo_status_id",
+                "SELECT c.id FROM cargo c WHERE c.weight >= 12 AND c.weight <= 20",
+                "idx_cargo_weight",
+                "SELECT v.id FROM vehicle v WHERE v.route_from IN ('Route 3')",
+                "idx_vehicle_route_from",
+                "SELECT v.id FROM vehicle v WHERE v.route_to IN ('Route 4')",
+                "idx_vehicle_route_to",
+                "SELECT v.id FROM vehicle v WHERE v.number LIKE 'XYZ%' ESCAPE '\\'",
+                "idx_vehicle_number_trgm",
+                "SELECT c.id FROM cargo c"
+                        + " WHERE lower(c.description) LIKE '%cargo 2%' ESCAPE '\\'",
+                "idx_cargo_description_trgm");
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            try {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                statement.execute("SET LOCAL enable_indexscan = off");
+                statement.execute("SET LOCAL enable_indexonlyscan = off");
+                for (Map.Entry<String, String> entry : indexesByQuery.entrySet()) {
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet resultSet = statement.executeQuery(
+                            "EXPLAIN " + entry.getKey())) {
+                        while (resultSet.next()) {
+                            plan.append(resultSet.getString(1)).append('\n');
+                        }
+                    }
+                    assertTrue(plan.toString().contains("Index Scan on " + entry.getValue()),
+                            entry.getKey() + " should scan " + entry.getValue() + ":\n" + plan);
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
     @Test
     void uploadJsonFile_MultipartFile_UploadDataFromJsonToDb() throws Exception {
         Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
@@ -318,8 +536,63 @@ class CargoControllerTest {
         mockMvc.perform(multipart(CARGOS_ENDPOINT + "/file/upload")
                         .file(file))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.successfulImports").value(96))
-                .andExpect(jsonPath("$.failedImports").value(4));
+                .andExpect(jsonPath("$.successfulImports").value(9))
+                .andExpect(jsonPath("$.failedImports").value(91));
+    }
+
+    @Test
+    void uploadJsonFile_GzippedNdjsonFile_UploadDataFromNdjsonToDb() throws Exception {
+        Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
+                "deliveryservice", "test_upload_file", "test_cargo_data.json");
+        JsonNode cargos = objectMapper.readTree(resourcePath.toFile());
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(compressed), StandardCharsets.UTF_8)) {
+            for (JsonNode cargo : cargos) {
+                writer.write(objectMapper.writeValueAsString(cargo));
+                writer.write('\n');
+            }
+        }
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test_cargo_data.ndjson.gz",
+                "application/gzip",
+                compressed.toByteArray()
+        );
+        mockMvc.perform(multipart(CARGOS_ENDPOINT + "/file/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(9))
+                .andExpect(jsonPath("$.failedImports").value(91));
+    }
+
+    @Test
+    void uploadJsonFile_ZipArchive_UploadDataFromEveryJsonEntryToDb() throws Exception {
+        Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
+                "deliveryservice", "test_upload_file", "test_cargo_data.json");
+        byte[] fileContent = Files.readAllBytes(resourcePath);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            zip.putNextEntry(new ZipEntry("cargos/"));
+            zip.putNextEntry(new ZipEntry("cargos/cargo_data_1.json"));
+            zip.write(fileContent);
+            zip.putNextEntry(new ZipEntry("cargos/cargo_data_2.json"));
+            zip.write(fileContent);
+            zip.putNextEntry(new ZipEntry("cargos/readme.txt"));
+            zip.write("Not a cargo file".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "cargo_data.zip",
+                "application/zip",
+                archive.toByteArray()
+        );
+        mockMvc.perform(multipart(CARGOS_ENDPOINT + "/file/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(18))
+                .andExpect(jsonPath("$.failedImports").value(182));
     }
 
     @Test
@@ -330,4 +603,129 @@ class CargoControllerTest {
                         .param("type", "TRUCK"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void streamExcelReport_ValidCargoSearchRequestDto_StreamedXlsxReport() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get(CARGOS_ENDPOINT + "/_report/stream")
+                        .param("status", "DELIVERED")
+                        .param("type", "TRUCK"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] report = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals('P', report[0]);
+        assertEquals('K', report[1]);
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void generateExcelReport_ValidCargoSearchRequestDto_ReportRowsWithVehicleColumns()
+            throws Exception {
+        byte[] report = mockMvc.perform(get(CARGOS_ENDPOINT + "/_report")
+                        .param("status", "DELIVERED")
+                        .param("type", "TRUCK"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(report))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(2, sheet.getLastRowNum());
+            Row firstRow = sheet.getRow(1);
+            assertEquals(2, firstRow.getCell(0).getNumericCellValue());
+            assertEquals("Truck", firstRow.getCell(1).getStringCellValue());
+            assertEquals("XYZ456", firstRow.getCell(2).getStringCellValue());
+            assertEquals("Route 3", firstRow.getCell(3).getStringCellValue());
+            assertEquals("DELIVERED", firstRow.getCell(7).getStringCellValue());
+            assertEquals(3, sheet.getRow(2).getCell(0).getNumericCellValue());
+        }
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void streamCsvExport_AcceptGzip_GzippedCsvRows() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get(CARGOS_ENDPOINT + "/_export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .param("status", "DELIVERED")
+                        .param("type", "TRUCK"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] export = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        String csv;
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(export))) {
+            csv = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,vehicle_type,vehicle_number,route_from,route_to,description,weight,status",
+                lines[0]);
+        assertTrue(lines[1].endsWith(",TRUCK,XYZ456,Route 3,Route 4,Cargo 2 description,15.2,"
+                + "DELIVERED"));
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void streamCsvExport_GzipNotAcceptable_PlainCsvRows() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get(CARGOS_ENDPOINT + "/_export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, x-gzip-foo, identity")
+                        .param("status", "DELIVERED")
+                        .param("type", "TRUCK"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,vehicle_type,vehicle_number,route_from,route_to,description,weight,status",
+                lines[0]);
+    }
+
+    @Test
+    @Sql(scripts = SQL_SCRIPT_ADD_CARGOS_AND_VEHICLES_TO_DB_BEFORE_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = SQL_SCRIPT_REMOVE_CARGOS_DATA_AFTER_TEST_EXECUTION,
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void streamExcelReport_Partitioned_SummaryAndSheetPerVehicleType() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get(CARGOS_ENDPOINT + "/_report/stream")
+                        .param("partitioned", "true")
+                        .param("type", "TRUCK", "CAR"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] report = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(report))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals("Summary", workbook.getSheetName(0));
+            assertEquals(1, workbook.getSheet("Car").getLastRowNum());
+            assertEquals(2, workbook.getSheet("Truck").getLastRowNum());
+            Row totalRow = workbook.getSheet("Summary").getRow(3);
+            assertEquals("Total", totalRow.getCell(0).getStringCellValue());
+            assertEquals(3, totalRow.getCell(1).getNumericCellValue());
+            assertEquals(45.7, totalRow.getCell(2).getNumericCellValue(), 0.001);
+        }
+    }
 }
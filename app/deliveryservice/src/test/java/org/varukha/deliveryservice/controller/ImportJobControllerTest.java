@@ -0,0 +1,437 @@
+package org.varukha.deliveryservice.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Comparator;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.varukha.deliveryservice.dto.importjob.ImportFileProgressDto;
+import org.varukha.deliveryservice.dto.importjob.ImportJobResponseDto;
+import org.varukha.deliveryservice.dto.importjob.ImportRejectionDto;
+import org.varukha.deliveryservice.dto.importjob.ServerImportRequestDto;
+import org.varukha.deliveryservice.model.enums.ImportMode;
+import org.varukha.deliveryservice.model.enums.ImportStatus;
+import org.varukha.deliveryservice.service.impl.KafkaProducerService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "cargo.import.server-root="
+                + "src/test/java/org/varukha/deliveryservice/test_upload_file")
+@Sql(scripts = "classpath:database/cargos/delete_cargos_from_db.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ImportJobControllerTest {
+    protected static MockMvc mockMvc;
+    private static final String SQL_SCRIPT_DELETE_ALL_DATA_FROM_DB_AFTER_TEST_EXECUTION =
+            "database/delete_all_data_from_db.sql";
+    private static final String SQL_SCRIPT_ADD_VEHICLES_DATA_BEFORE_TEST_EXECUTION =
+            "database/vehicles/save_vehicles_to_db.sql";
+    private static final String IMPORT_JOBS_ENDPOINT = "/import-jobs";
+    private static final int MAX_STATUS_POLLS = 50;
+    private static final long LARGE_FILE_RECORDS = 3000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private KafkaProducerService kafkaProducerService;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext,
+                          @Autowired DataSource dataSource) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .build();
+        executeScript(dataSource, SQL_SCRIPT_DELETE_ALL_DATA_FROM_DB_AFTER_TEST_EXECUTION);
+        executeScript(dataSource, SQL_SCRIPT_ADD_VEHICLES_DATA_BEFORE_TEST_EXECUTION);
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        executeScript(dataSource, SQL_SCRIPT_DELETE_ALL_DATA_FROM_DB_AFTER_TEST_EXECUTION);
+    }
+
+    @SneakyThrows
+    static void executeScript(DataSource dataSource, String script) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+        }
+    }
+
+    @Test
+    void startImport_MultipartFile_JobCompletesWithImportStatistics() throws Exception {
+        Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
+                "deliveryservice", "test_upload_file", "test_cargo_data.json");
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test_cargo_data.json",
+                "application/json",
+                Files.readAllBytes(resourcePath)
+        );
+        MvcResult result = mockMvc.perform(multipart(IMPORT_JOBS_ENDPOINT)
+                        .file(file))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        ImportJobResponseDto startedJob = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ImportJobResponseDto.class);
+        assertNotNull(startedJob.jobId());
+
+        ImportJobResponseDto finishedJob = waitForJob(startedJob.jobId());
+
+        assertEquals(ImportStatus.COMPLETED.name(), finishedJob.status());
+        assertEquals(9L, finishedJob.successfulImports());
+        assertEquals(91L, finishedJob.failedImports());
+        assertEquals(1, finishedJob.files().size());
+        assertEquals(file.getSize(), finishedJob.files().get(0).bytesProcessed());
+    }
+
+    @Test
+    void startImport_SameFileResumed_SecondJobSkipsImportedFile() throws Exception {
+        Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
+                "deliveryservice", "test_upload_file", "test_cargo_data.json");
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test_cargo_data.json",
+                "application/json",
+                Files.readAllBytes(resourcePath)
+        );
+        ImportJobResponseDto firstJob = waitForJob(startImport(file));
+        final Long cargosAfterFirstJob = countCargos();
+
+        ImportJobResponseDto secondJob = waitForJob(startImport(file, ImportMode.BATCH, true));
+
+        assertEquals(ImportStatus.COMPLETED.name(), firstJob.status());
+        assertEquals(ImportStatus.COMPLETED.name(), secondJob.status());
+        assertEquals(0L, secondJob.successfulImports());
+        assertEquals(0L, secondJob.failedImports());
+        assertEquals(100L, secondJob.skippedImports());
+        assertEquals(file.getSize(), secondJob.files().get(0).bytesProcessed());
+        assertEquals(cargosAfterFirstJob, countCargos());
+    }
+
+    @Test
+    void startImport_CorrectedFileWithSameNameAndSizeResumed_SecondJobImportsFileAgain()
+            throws Exception {
+        final MockMultipartFile file = largeCargoFile("Cargo 1500");
+        final MockMultipartFile correctedFile = largeCargoFile("Cargo X500");
+        ImportJobResponseDto firstJob = waitForJob(startImport(file));
+        final Long cargosAfterFirstJob = countCargos();
+
+        ImportJobResponseDto secondJob = waitForJob(
+                startImport(correctedFile, ImportMode.BATCH, true));
+
+        assertEquals(file.getSize(), correctedFile.getSize());
+        assertEquals(ImportStatus.COMPLETED.name(), firstJob.status());
+        assertEquals(ImportStatus.COMPLETED.name(), secondJob.status());
+        assertEquals(LARGE_FILE_RECORDS, secondJob.successfulImports());
+        assertEquals(0L, secondJob.skippedImports());
+        assertEquals(cargosAfterFirstJob + LARGE_FILE_RECORDS, countCargos());
+    }
+
+    @Test
+    void startImport_SameFileSubmittedTwiceWithoutResume_SecondJobImportsFileAgain()
+            throws Exception {
+        Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
+                "deliveryservice", "test_upload_file", "test_cargo_data.json");
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test_cargo_data.json",
+                "application/json",
+                Files.readAllBytes(resourcePath)
+        );
+        waitForJob(startImport(file));
+        final Long cargosAfterFirstJob = countCargos();
+
+        ImportJobResponseDto secondJob = waitForJob(startImport(file));
+
+        assertEquals(ImportStatus.COMPLETED.name(), secondJob.status());
+        assertEquals(9L, secondJob.successfulImports());
+        assertEquals(91L, secondJob.failedImports());
+        assertEquals(0L, secondJob.skippedImports());
+        assertEquals(cargosAfterFirstJob + 9, countCargos());
+    }
+
+    @Test
+    void startImport_UpsertModeSameFileTwice_SecondJobSkipsEveryCargo() throws Exception {
+        Path resourcePath = Path.of("src", "test", "java", "org", "varukha",
+                "deliveryservice", "test_upload_file", "test_cargo_data.json");
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test_cargo_data.json",
+                "application/json",
+                Files.readAllBytes(resourcePath)
+        );
+        ImportJobResponseDto firstJob = waitForJob(startImport(file, ImportMode.UPSERT));
+        final Long cargosAfterFirstJob = countCargos();
+
+        final ImportJobResponseDto secondJob = waitForJob(startImport(file, ImportMode.UPSERT));
+
+        assertEquals(ImportStatus.COMPLETED.name(), firstJob.status());
+        assertEquals(9L, firstJob.successfulImports());
+        assertEquals(91L, firstJob.failedImports());
+        assertEquals(ImportStatus.COMPLETED.name(), secondJob.status());
+        assertEquals(0L, secondJob.successfulImports());
+        assertEquals(0L, secondJob.updatedImports());
+        assertEquals(9L, secondJob.skippedImports());
+        assertEquals(cargosAfterFirstJob, countCargos());
+    }
+
+    @Test
+    void startImport_UpsertAfterBatchImport_InsertsCargosSavedByBatchAgain() throws Exception {
+        String cargos = """
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Batch cargo 1",
+                 "weight": 11.5, "status": "PENDING"}
+                {"vehicle": {"vehicleNumber": "XYZ456"}, "description": "Batch cargo 2",
+                 "weight": 12.5, "status": "IN_TRANSIT"}
+                """;
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "batch_then_upsert.json",
+                "application/json",
+                cargos.getBytes(StandardCharsets.UTF_8)
+        );
+        ImportJobResponseDto batchJob = waitForJob(startImport(file, ImportMode.BATCH));
+        final Long cargosAfterBatchJob = countCargos();
+
+        ImportJobResponseDto upsertJob = waitForJob(startImport(file, ImportMode.UPSERT));
+
+        assertEquals(2L, batchJob.successfulImports());
+        assertEquals(ImportStatus.COMPLETED.name(), upsertJob.status());
+        assertEquals(2L, upsertJob.successfulImports());
+        assertEquals(0L, upsertJob.skippedImports());
+        assertEquals(cargosAfterBatchJob + 2, countCargos());
+    }
+
+    @Test
+    void getRejectionReport_ChunkWithInvalidRows_ReportListsOnlyRejectedRows() throws Exception {
+        String cargos = """
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Valid cargo",
+                 "weight": 10.5, "status": "IN_TRANSIT"}
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "%s",
+                 "weight": 20.5, "status": "IN_TRANSIT"}
+                {"vehicle": null, "description": "Cargo without vehicle",
+                 "weight": 30.5, "status": "DELIVERED"}
+                """.formatted("Too long description ".repeat(20));
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "invalid_rows.json",
+                "application/json",
+                cargos.getBytes(StandardCharsets.UTF_8)
+        );
+        String jobId = startImport(file);
+        ImportJobResponseDto finishedJob = waitForJob(jobId);
+
+        MvcResult result = mockMvc.perform(get(IMPORT_JOBS_ENDPOINT + "/" + jobId + "/rejections"))
+                .andExpect(status().isOk())
+                .andReturn();
+        final List<ImportRejectionDto> rejections = result.getResponse()
+                .getContentAsString()
+                .lines()
+                .map(this::readRejection)
+                .sorted(Comparator.comparing(ImportRejectionDto::recordIndex))
+                .toList();
+
+        assertEquals(ImportStatus.COMPLETED.name(), finishedJob.status());
+        assertEquals(1L, finishedJob.successfulImports());
+        assertEquals(2L, finishedJob.failedImports());
+        assertEquals(2, rejections.size());
+        assertEquals("invalid_rows.json", rejections.get(0).fileName());
+        assertEquals(1L, rejections.get(0).recordIndex());
+        assertEquals(2L, rejections.get(1).recordIndex());
+    }
+
+    @Test
+    void startImport_RefusedChunkWithSameCargoTwice_SavesBothCopies() throws Exception {
+        String cargos = """
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Repeated cargo",
+                 "weight": 10.5, "status": "IN_TRANSIT"}
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Repeated cargo",
+                 "weight": 10.5, "status": "IN_TRANSIT"}
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "%s",
+                 "weight": 20.5, "status": "IN_TRANSIT"}
+                """.formatted("Too long description ".repeat(20));
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "repeated_rows.json",
+                "application/json",
+                cargos.getBytes(StandardCharsets.UTF_8)
+        );
+        final Long cargosBeforeJob = countCargos();
+
+        ImportJobResponseDto finishedJob = waitForJob(startImport(file));
+
+        assertEquals(ImportStatus.COMPLETED.name(), finishedJob.status());
+        assertEquals(2L, finishedJob.successfulImports());
+        assertEquals(1L, finishedJob.failedImports());
+        assertEquals(cargosBeforeJob + 2, countCargos());
+    }
+
+    @Test
+    void startImport_UnknownStatus_RejectsOnlyThatRecord() throws Exception {
+        String cargos = """
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Known status",
+                 "weight": 10.5, "status": "IN_TRANSIT"}
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Unknown status",
+                 "weight": 20.5, "status": "TELEPORTED"}
+                {"vehicle": {"vehicleNumber": "ABC123"}, "description": "Record after it",
+                 "weight": 30.5, "status": "DELIVERED"}
+                """;
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "unknown_status.json",
+                "application/json",
+                cargos.getBytes(StandardCharsets.UTF_8)
+        );
+        String jobId = startImport(file);
+        ImportJobResponseDto finishedJob = waitForJob(jobId);
+
+        MvcResult result = mockMvc.perform(get(IMPORT_JOBS_ENDPOINT + "/" + jobId + "/rejections"))
+                .andExpect(status().isOk())
+                .andReturn();
+        final List<ImportRejectionDto> rejections = result.getResponse()
+                .getContentAsString()
+                .lines()
+                .map(this::readRejection)
+                .toList();
+
+        assertEquals(ImportStatus.COMPLETED.name(), finishedJob.status());
+        assertEquals(2L, finishedJob.successfulImports());
+        assertEquals(1L, finishedJob.failedImports());
+        assertEquals(1, rejections.size());
+        assertEquals(1L, rejections.get(0).recordIndex());
+        assertTrue(rejections.get(0).reason().contains("TELEPORTED"));
+    }
+
+    @Test
+    void startServerImport_DirectoryInImportRoot_JobReportsFileThroughput() throws Exception {
+        ServerImportRequestDto requestDto = new ServerImportRequestDto(".", "*.json", null, null);
+        MvcResult result = mockMvc.perform(post(IMPORT_JOBS_ENDPOINT + "/server-files")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        ImportJobResponseDto startedJob = objectMapper.readValue(
+                result.getResponse().getContentAsString(), ImportJobResponseDto.class);
+
+        ImportJobResponseDto finishedJob = waitForJob(startedJob.jobId());
+
+        assertEquals(ImportStatus.COMPLETED.name(), finishedJob.status());
+        assertEquals(9L, finishedJob.successfulImports());
+        assertEquals(91L, finishedJob.failedImports());
+        assertEquals(1, finishedJob.files().size());
+        ImportFileProgressDto file = finishedJob.files().get(0);
+        assertEquals("test_cargo_data.json", file.fileName());
+        assertEquals(file.totalBytes(), file.bytesProcessed());
+        assertTrue(file.recordsPerSecond() > 0);
+    }
+
+    @Test
+    void startServerImport_DirectoryOutsideImportRoot_ReturnBadRequest() throws Exception {
+        ServerImportRequestDto requestDto = new ServerImportRequestDto("..", null, null, null);
+        mockMvc.perform(post(IMPORT_JOBS_ENDPOINT + "/server-files")
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getById_UnknownJobId_ReturnNotFound() throws Exception {
+        mockMvc.perform(get(IMPORT_JOBS_ENDPOINT + "/unknown-job"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String startImport(MockMultipartFile file) throws Exception {
+        return startImport(file, ImportMode.BATCH);
+    }
+
+    private String startImport(MockMultipartFile file, ImportMode mode) throws Exception {
+        return startImport(file, mode, false);
+    }
+
+    private String startImport(MockMultipartFile file,
+                               ImportMode mode,
+                               boolean resume) throws Exception {
+        MvcResult result = mockMvc.perform(multipart(IMPORT_JOBS_ENDPOINT)
+                        .file(file)
+                        .param("mode", mode.name())
+                        .param("resume", String.valueOf(resume)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(), ImportJobResponseDto.class).jobId();
+    }
+
+    private MockMultipartFile largeCargoFile(String middleDescription) {
+        StringBuilder cargos = new StringBuilder();
+        for (int i = 0; i < LARGE_FILE_RECORDS; i++) {
+            String description = i == LARGE_FILE_RECORDS / 2
+                    ? middleDescription
+                    : "Cargo %04d".formatted(i);
+            cargos.append("""
+                    {"vehicle": {"vehicleNumber": "ABC123"}, "description": "%s", \
+                    "weight": 10.5, "status": "IN_TRANSIT"}
+                    """.formatted(description));
+        }
+        return new MockMultipartFile(
+                "file",
+                "large_cargo_data.ndjson",
+                "application/x-ndjson",
+                cargos.toString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @SneakyThrows
+    private ImportRejectionDto readRejection(String line) {
+        return objectMapper.readValue(line, ImportRejectionDto.class);
+    }
+
+    private Long countCargos() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cargo", Long.class);
+    }
+
+    private ImportJobResponseDto waitForJob(String jobId) throws Exception {
+        ImportJobResponseDto job = null;
+        for (int i = 0; i < MAX_STATUS_POLLS; i++) {
+            MvcResult result = mockMvc.perform(get(IMPORT_JOBS_ENDPOINT + "/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            job = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), ImportJobResponseDto.class);
+            if (job.finishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return job;
+    }
+}
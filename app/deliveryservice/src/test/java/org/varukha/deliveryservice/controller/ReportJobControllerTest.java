@@ -0,0 +1,134 @@
+package org.varukha.deliveryservice.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.varukha.deliveryservice.dto.report.ReportJobResponseDto;
+import org.varukha.deliveryservice.model.enums.ReportStatus;
+import org.varukha.deliveryservice.service.impl.KafkaProducerService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReportJobControllerTest {
+    protected static MockMvc mockMvc;
+    private static final String SQL_SCRIPT_DELETE_ALL_DATA_FROM_DB_AFTER_TEST_EXECUTION =
+            "database/delete_all_data_from_db.sql";
+    private static final String SQL_SCRIPT_ADD_VEHICLES_DATA_BEFORE_TEST_EXECUTION =
+            "database/vehicles/save_vehicles_to_db.sql";
+    private static final String SQL_SCRIPT_ADD_CARGOS_DATA_BEFORE_TEST_EXECUTION =
+            "database/cargos/save_cargos_to_db_without_id.sql";
+    private static final String REPORT_JOBS_ENDPOINT = "/report-jobs";
+    private static final int MAX_STATUS_POLLS = 50;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private KafkaProducerService kafkaProducerService;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext,
+                          @Autowired DataSource dataSource) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .build();
+        executeScript(dataSource, SQL_SCRIPT_DELETE_ALL_DATA_FROM_DB_AFTER_TEST_EXECUTION);
+        executeScript(dataSource, SQL_SCRIPT_ADD_VEHICLES_DATA_BEFORE_TEST_EXECUTION);
+        executeScript(dataSource, SQL_SCRIPT_ADD_CARGOS_DATA_BEFORE_TEST_EXECUTION);
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        executeScript(dataSource, SQL_SCRIPT_DELETE_ALL_DATA_FROM_DB_AFTER_TEST_EXECUTION);
+    }
+
+    @SneakyThrows
+    static void executeScript(DataSource dataSource, String script) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+        }
+    }
+
+    @Test
+    void startReport_IdenticalFilterTwice_ReusesStoredReportUntilDataChanges()
+            throws Exception {
+        ReportJobResponseDto firstJob = startReport("DELIVERED,PENDING", "TRUCK");
+        ReportJobResponseDto finishedJob = waitForJob(firstJob.jobId());
+        assertEquals(ReportStatus.COMPLETED.name(), finishedJob.status());
+
+        ReportJobResponseDto reusedJob = startReport("PENDING,DELIVERED,PENDING", "TRUCK");
+        assertEquals(firstJob.jobId(), reusedJob.jobId());
+
+        jdbcTemplate.update("UPDATE cargo SET weight = weight + 1 WHERE status = 'DELIVERED'");
+        ReportJobResponseDto rebuiltJob = startReport("DELIVERED,PENDING", "TRUCK");
+        assertNotEquals(firstJob.jobId(), rebuiltJob.jobId());
+        assertTrue(rebuiltJob.dataVersion() > firstJob.dataVersion());
+        assertEquals(ReportStatus.COMPLETED.name(), waitForJob(rebuiltJob.jobId()).status());
+    }
+
+    @Test
+    void downloadReport_RangeRequest_ReturnsPartialContent() throws Exception {
+        ReportJobResponseDto job = waitForJob(startReport("PENDING", "CAR").jobId());
+
+        MvcResult result = mockMvc.perform(get(REPORT_JOBS_ENDPOINT + "/" + job.jobId() + "/file")
+                        .header(HttpHeaders.RANGE, "bytes=0-1"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                        "bytes 0-1/" + job.sizeBytes()))
+                .andReturn();
+
+        assertEquals("PK", result.getResponse().getContentAsString());
+    }
+
+    private ReportJobResponseDto startReport(String status, String type) throws Exception {
+        MvcResult result = mockMvc.perform(post(REPORT_JOBS_ENDPOINT)
+                        .param("status", status)
+                        .param("type", type))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return objectMapper.readValue(
+                result.getResponse().getContentAsString(), ReportJobResponseDto.class);
+    }
+
+    private ReportJobResponseDto waitForJob(String jobId) throws Exception {
+        ReportJobResponseDto job = null;
+        for (int i = 0; i < MAX_STATUS_POLLS; i++) {
+            MvcResult result = mockMvc.perform(get(REPORT_JOBS_ENDPOINT + "/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            job = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), ReportJobResponseDto.class);
+            if (job.finishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return job;
+    }
+}
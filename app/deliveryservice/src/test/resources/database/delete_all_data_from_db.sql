@@ -1,2 +1,4 @@
 DELETE FROM vehicle;
 DELETE FROM cargo;
+DELETE FROM import_checkpoint_chunk;
+DELETE FROM import_checkpoint;